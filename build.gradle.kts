@@ -19,6 +19,12 @@ kotlin {
     jvmToolchain(21)
 }
 
+// JMH benchmarks of the plugin's hot paths, run them with `./gradlew jmh` - read more: https://github.com/openjdk/jmh
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath
+}
+
 // Configure project's dependencies
 repositories {
     mavenCentral()
@@ -39,6 +45,9 @@ dependencies {
 
     testRuntimeOnly(libs.junitJupiter.launcher)
 
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator)
+
     // IntelliJ Platform Gradle Plugin Dependencies Extension - read more: https://plugins.jetbrains.com/docs/intellij/tools-intellij-platform-gradle-plugin-dependencies-extension.html
     intellijPlatform {
         create(providers.gradleProperty("platformType"), providers.gradleProperty("platformVersion"))
@@ -117,6 +126,15 @@ tasks {
         useJUnitPlatform()
     }
 
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks, pass JMH options with -PjmhArgs=\"...\""
+
+        classpath = jmh.runtimeClasspath
+        mainClass = "org.openjdk.jmh.Main"
+        args(providers.gradleProperty("jmhArgs").map { it.split(' ') }.getOrElse(listOf("-prof", "gc")))
+    }
+
     wrapper {
         gradleVersion = providers.gradleProperty("gradleVersion").get()
     }
@@ -0,0 +1,77 @@
+package ch.postfinance.citrusframework.plugin;
+
+import static com.intellij.ide.highlighter.XmlFileType.DOT_DEFAULT_EXTENSION;
+
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the filter-before-collect pipeline of {@link VirtualFileUtil#retrieveTestFileNames}
+ * with the former collect-then-filter implementation. Run with the gc profiler
+ * (the default of the jmh task) and compare gc.alloc.rate.norm, the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RetrieveTestFileNamesBenchmark {
+
+  @Param({ "1000", "10000", "100000" })
+  private int files;
+
+  private VirtualFile[] selection;
+
+  @Setup
+  public void setUp() {
+    selection = new VirtualFile[] { SyntheticFileTree.create(files) };
+  }
+
+  @Benchmark
+  public String filterBeforeCollect() {
+    return VirtualFileUtil.retrieveTestFileNames(selection);
+  }
+
+  @Benchmark
+  public String collectThenFilter() {
+    Map<String, VirtualFile> foundFiles = new TreeMap<>();
+    collectAll(selection, foundFiles);
+    return foundFiles
+      .values()
+      .stream()
+      .filter(VirtualFileUtil::isTestFile)
+      .map(virtualFile ->
+        "*" + virtualFile.getName().replace(DOT_DEFAULT_EXTENSION, "") + "*"
+      )
+      .collect(Collectors.joining(",", "", ""));
+  }
+
+  private static void collectAll(
+    VirtualFile[] virtualFiles,
+    Map<String, VirtualFile> foundFiles
+  ) {
+    for (VirtualFile virtualFile : virtualFiles) {
+      if (virtualFile.isDirectory()) {
+        collectAll(VfsUtil.getChildren(virtualFile), foundFiles);
+      } else {
+        foundFiles.put(virtualFile.getPath(), virtualFile);
+      }
+    }
+  }
+}
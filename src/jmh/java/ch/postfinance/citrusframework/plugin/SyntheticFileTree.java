@@ -0,0 +1,84 @@
+package ch.postfinance.citrusframework.plugin;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+
+/**
+ * Builds payload heavy test resource trees like the ones of a large citrus test module:
+ * every folder holds 100 files, of which a quarter are tests, a quarter are XML fixtures
+ * and the rest are JSON payloads. Ten folders are grouped into a module.
+ */
+public final class SyntheticFileTree {
+
+  private static final int FILES_PER_FOLDER = 100;
+  private static final int FOLDERS_PER_MODULE = 10;
+  private static final String CITRUS_TEST =
+    "<test name=\"GS\" xmlns=\"http://citrusframework.org/schema/xml/testcase\"/>";
+  private static final String FIXTURE =
+    "<beans xmlns=\"http://www.springframework.org/schema/beans\"/>";
+
+  private SyntheticFileTree() {
+    // Private constructor to prevent instantiation
+  }
+
+  public static SyntheticVirtualFile create(int files) {
+    return create(files, true);
+  }
+
+  /**
+   * @param files     the total number of files, rounded up to a full folder
+   * @param withTests false to create XML fixtures in place of the tests
+   * @return the root folder of the tree
+   */
+  public static SyntheticVirtualFile create(int files, boolean withTests) {
+    SyntheticVirtualFile root = SyntheticVirtualFile.directory(
+      "resources",
+      null
+    );
+    int folders = Math.ceilDiv(files, FILES_PER_FOLDER);
+    SyntheticVirtualFile module = null;
+    for (int folderIndex = 0; folderIndex < folders; folderIndex++) {
+      if (folderIndex % FOLDERS_PER_MODULE == 0) {
+        module = SyntheticVirtualFile.directory(
+          "module" + folderIndex / FOLDERS_PER_MODULE,
+          root
+        );
+      }
+      createFolder(
+        SyntheticVirtualFile.directory("folder" + folderIndex, module),
+        folderIndex,
+        withTests
+      );
+    }
+    return root;
+  }
+
+  private static void createFolder(
+    SyntheticVirtualFile folder,
+    int folderIndex,
+    boolean withTests
+  ) {
+    for (int fileIndex = 0; fileIndex < FILES_PER_FOLDER; fileIndex++) {
+      String name = "GS" + folderIndex + "_" + fileIndex;
+      switch (fileIndex % 4) {
+        case 0 -> SyntheticVirtualFile.file(
+          name + (withTests ? "_Test.xml" : "_Template.xml"),
+          XmlFileType.INSTANCE,
+          folder,
+          withTests ? CITRUS_TEST : FIXTURE
+        );
+        case 1 -> SyntheticVirtualFile.file(
+          name + "_Fixture.xml",
+          XmlFileType.INSTANCE,
+          folder,
+          FIXTURE
+        );
+        default -> SyntheticVirtualFile.file(
+          name + "_Payload.json",
+          PlainTextFileType.INSTANCE,
+          folder
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package ch.postfinance.citrusframework.plugin;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileSystem;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * In-memory VirtualFile stand-in, so that benchmarks run without an IDE instance.
+ * Only the methods used while traversing a selection are supported.
+ */
+public final class SyntheticVirtualFile extends VirtualFile {
+
+  private static final VirtualFile[] NO_CHILDREN = new VirtualFile[0];
+  private static final byte[] NO_CONTENT = new byte[0];
+
+  private final String name;
+  private final String path;
+  private final SyntheticVirtualFile parent;
+  private final FileType fileType;
+  private final byte[] content;
+  private final List<VirtualFile> children;
+  private VirtualFile[] childrenArray;
+
+  private SyntheticVirtualFile(
+    String name,
+    @Nullable SyntheticVirtualFile parent,
+    @Nullable FileType fileType,
+    byte[] content
+  ) {
+    this.name = name;
+    this.path = isNull(parent) ? "/" + name : parent.path + "/" + name;
+    this.parent = parent;
+    this.fileType = fileType;
+    this.content = content;
+    this.children = isNull(fileType) ? new ArrayList<>() : null;
+    if (!isNull(parent)) {
+      parent.children.add(this);
+      parent.childrenArray = null;
+    }
+  }
+
+  public static SyntheticVirtualFile directory(
+    String name,
+    @Nullable SyntheticVirtualFile parent
+  ) {
+    return new SyntheticVirtualFile(name, parent, null, NO_CONTENT);
+  }
+
+  public static SyntheticVirtualFile file(
+    String name,
+    FileType fileType,
+    SyntheticVirtualFile parent
+  ) {
+    return new SyntheticVirtualFile(name, parent, fileType, NO_CONTENT);
+  }
+
+  public static SyntheticVirtualFile file(
+    String name,
+    FileType fileType,
+    SyntheticVirtualFile parent,
+    String content
+  ) {
+    return new SyntheticVirtualFile(
+      name,
+      parent,
+      fileType,
+      content.getBytes(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Override
+  public @NotNull String getName() {
+    return name;
+  }
+
+  @Override
+  public @NotNull String getPath() {
+    return path;
+  }
+
+  @Override
+  public @NotNull FileType getFileType() {
+    return fileType;
+  }
+
+  @Override
+  public boolean isDirectory() {
+    return isNull(fileType);
+  }
+
+  @Override
+  public VirtualFile getParent() {
+    return parent;
+  }
+
+  @Override
+  public VirtualFile[] getChildren() {
+    if (!isDirectory()) {
+      return NO_CHILDREN;
+    }
+    if (isNull(childrenArray)) {
+      childrenArray = children.toArray(NO_CHILDREN);
+    }
+    return childrenArray;
+  }
+
+  @Override
+  public @NotNull VirtualFileSystem getFileSystem() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean isWritable() {
+    return false;
+  }
+
+  @Override
+  public boolean isValid() {
+    return true;
+  }
+
+  @Override
+  public @NotNull OutputStream getOutputStream(
+    Object requestor,
+    long newModificationStamp,
+    long newTimeStamp
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public byte @NotNull [] contentsToByteArray() {
+    return content;
+  }
+
+  @Override
+  public long getTimeStamp() {
+    return 0;
+  }
+
+  @Override
+  public long getModificationStamp() {
+    return 0;
+  }
+
+  @Override
+  public long getLength() {
+    return content.length;
+  }
+
+  @Override
+  public void refresh(
+    boolean asynchronous,
+    boolean recursive,
+    @Nullable Runnable postRunnable
+  ) {
+    // Nothing to refresh in memory
+  }
+
+  @Override
+  public @NotNull InputStream getInputStream() {
+    return new ByteArrayInputStream(contentsToByteArray());
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+}
@@ -0,0 +1,62 @@
+package ch.postfinance.citrusframework.plugin;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the traversals of {@link VirtualFileUtil}. The selection without tests
+ * is the worst case of containsAtLeastOneTestFile, as it has to visit every file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualFileUtilBenchmark {
+
+  @Param({ "1000", "10000", "100000" })
+  private int files;
+
+  private VirtualFile[] selection;
+  private VirtualFile[] selectionWithoutTests;
+
+  @Setup
+  public void setUp() {
+    selection = new VirtualFile[] { SyntheticFileTree.create(files) };
+    selectionWithoutTests = new VirtualFile[] {
+      SyntheticFileTree.create(files, false),
+    };
+  }
+
+  @Benchmark
+  public boolean containsAtLeastOneTestFile() {
+    return VirtualFileUtil.containsAtLeastOneTestFile(selection);
+  }
+
+  @Benchmark
+  public boolean containsAtLeastOneTestFileWithoutTests() {
+    return VirtualFileUtil.containsAtLeastOneTestFile(selectionWithoutTests);
+  }
+
+  @Benchmark
+  public String retrieveTestFileNames() {
+    return VirtualFileUtil.retrieveTestFileNames(selection);
+  }
+
+  @Benchmark
+  public String retrieveTestFileNamesInParallel() {
+    return VirtualFileUtil.retrieveTestFileNamesInParallel(selection, null);
+  }
+}
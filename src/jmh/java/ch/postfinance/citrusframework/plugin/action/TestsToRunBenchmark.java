@@ -0,0 +1,62 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.SyntheticFileTree;
+import ch.postfinance.citrusframework.plugin.VirtualFileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building the -Dtests.to.run VM parameter of
+ * {@link XmlAbstractAction#executeWithTestFiles}, from the discovered test files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestsToRunBenchmark {
+
+  private static final String EXISTING_VM_PARAMETERS =
+    "-Xmx2g -Dspring.profiles.active=local";
+
+  @Param({ "1000", "10000", "100000" })
+  private int files;
+
+  private List<VirtualFile> testFiles;
+  private String testFileNames;
+
+  @Setup
+  public void setUp() {
+    testFiles = VirtualFileUtil.retrieveTestFiles(
+      new VirtualFile[] { SyntheticFileTree.create(files) },
+      null
+    );
+    testFileNames = VirtualFileUtil.joinTestFileNames(testFiles);
+  }
+
+  @Benchmark
+  public String joinTestFileNames() {
+    return VirtualFileUtil.joinTestFileNames(testFiles);
+  }
+
+  @Benchmark
+  public String buildVmParameters() {
+    return XmlAbstractAction.buildVmParameters(
+      EXISTING_VM_PARAMETERS,
+      testFileNames
+    );
+  }
+}
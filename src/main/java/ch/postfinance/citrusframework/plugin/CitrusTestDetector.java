@@ -0,0 +1,121 @@
+package ch.postfinance.citrusframework.plugin;
+
+import static java.util.Objects.nonNull;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Detects citrus tests by their root element instead of their name: a {@code test} or
+ * {@code testcase} root in a citrus namespace, or a legacy Spring {@code beans} root declaring the
+ * citrus testcase namespace. Only the prolog and the root element are read, and the verdict is cached
+ * on the file until its modification stamp changes.
+ */
+public final class CitrusTestDetector {
+
+  private static final String CITRUS_SCHEMA = "citrusframework.org/schema/";
+  private static final String CITRUS_TESTCASE_SCHEMA =
+    "citrusframework.org/schema/testcase";
+
+  private static final Key<Verdict> VERDICT = Key.create(
+    "ch.postfinance.citrusframework.plugin.CitrusTestVerdict"
+  );
+
+  // The factories are not guaranteed to be thread safe, the traversal and the indexing run in parallel
+  private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY =
+    ThreadLocal.withInitial(CitrusTestDetector::createXmlInputFactory);
+
+  private record Verdict(long modificationStamp, boolean citrusTest) {}
+
+  private CitrusTestDetector() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param xmlFile an XML file
+   * @return true if the file is a citrus test, false if not or if it cannot be read
+   */
+  public static boolean isCitrusTest(VirtualFile xmlFile) {
+    long modificationStamp = xmlFile.getModificationStamp();
+    Verdict verdict = xmlFile.getUserData(VERDICT);
+    if (nonNull(verdict) && verdict.modificationStamp() == modificationStamp) {
+      return verdict.citrusTest();
+    }
+
+    boolean citrusTest;
+    try (InputStream content = xmlFile.getInputStream()) {
+      citrusTest = isCitrusTest(content);
+    } catch (IOException e) {
+      citrusTest = false;
+    }
+    xmlFile.putUserData(VERDICT, new Verdict(modificationStamp, citrusTest));
+    return citrusTest;
+  }
+
+  /**
+   * @param content the content of an XML file, read up to the root element
+   * @return true if the root element is the one of a citrus test
+   */
+  public static boolean isCitrusTest(InputStream content) {
+    try {
+      XMLStreamReader reader =
+        XML_INPUT_FACTORY.get().createXMLStreamReader(content);
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+            return isCitrusTestRoot(reader);
+          }
+        }
+        return false;
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      return false;
+    }
+  }
+
+  private static boolean isCitrusTestRoot(XMLStreamReader reader) {
+    String root = reader.getLocalName();
+    String namespace = reader.getNamespaceURI();
+    if (
+      ("test".equals(root) || "testcase".equals(root)) &&
+      nonNull(namespace) &&
+      namespace.contains(CITRUS_SCHEMA)
+    ) {
+      return true;
+    }
+
+    if ("beans".equals(root)) {
+      for (int i = 0; i < reader.getNamespaceCount(); i++) {
+        String declaredNamespace = reader.getNamespaceURI(i);
+        if (
+          nonNull(declaredNamespace) &&
+          declaredNamespace.contains(CITRUS_TESTCASE_SCHEMA)
+        ) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return a StAX factory with DTDs and external entities disabled
+   */
+  public static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(
+      XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+      false
+    );
+    return xmlInputFactory;
+  }
+}
@@ -1,50 +1,178 @@
 package ch.postfinance.citrusframework.plugin;
 
 import static com.intellij.ide.highlighter.XmlFileType.DEFAULT_EXTENSION;
-import static com.intellij.ide.highlighter.XmlFileType.DOT_DEFAULT_EXTENSION;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Util class for retrieving information from VirtualFiles
  */
 public final class VirtualFileUtil {
 
-  private static final String TEST_XML = "Test.xml";
-
   private VirtualFileUtil() {
     // Private constructor to prevent instantiation
   }
 
   public static String retrieveTestFileNames(VirtualFile[] virtualFiles) {
-    Map<String, VirtualFile> foundFiles = new TreeMap<>(); // Using map to avoid duplicated selections
-    iterateTroughChildren(virtualFiles, (VirtualFile virtualFile) ->
-      foundFiles.put(virtualFile.getPath(), virtualFile)
+    return retrieveTestFileNames(virtualFiles, null);
+  }
+
+  public static String retrieveTestFileNames(
+    VirtualFile[] virtualFiles,
+    @Nullable ProgressIndicator indicator
+  ) {
+    return joinTestFileNames(retrieveTestFiles(virtualFiles, indicator));
+  }
+
+  public static String retrieveTestFileNamesInParallel(
+    VirtualFile[] virtualFiles,
+    @Nullable ProgressIndicator indicator
+  ) {
+    return joinTestFileNames(
+      retrieveTestFilesInParallel(virtualFiles, indicator)
     );
+  }
+
+  /**
+   * Retrieve the test files of the selection sorted by path, reporting the traversed folders and
+   * the number of tests found so far to the indicator. The traversal is aborted with a
+   * {@link com.intellij.openapi.progress.ProcessCanceledException} once the indicator is cancelled.
+   *
+   * @param virtualFiles the array of virtual files
+   * @param indicator    the progress indicator, may be null
+   * @return the test files, without duplicates
+   */
+  public static List<VirtualFile> retrieveTestFiles(
+    VirtualFile[] virtualFiles,
+    @Nullable ProgressIndicator indicator
+  ) {
+    Set<VirtualFile> testFiles = new HashSet<>();
+    iterateTroughChildren(
+      virtualFiles,
+      testFileCollector(testFiles, indicator),
+      indicator
+    );
+    return sortByPath(testFiles);
+  }
+
+  /**
+   * Same as {@link #retrieveTestFiles(VirtualFile[], ProgressIndicator)}, but the folders are
+   * traversed in parallel. The traversal stops once the indicator is cancelled and a
+   * {@link com.intellij.openapi.progress.ProcessCanceledException} is thrown afterwards.
+   *
+   * @param virtualFiles the array of virtual files
+   * @param indicator    the progress indicator, may be null
+   * @return the test files, without duplicates
+   */
+  public static List<VirtualFile> retrieveTestFilesInParallel(
+    VirtualFile[] virtualFiles,
+    @Nullable ProgressIndicator indicator
+  ) {
+    Set<VirtualFile> testFiles = ConcurrentHashMap.newKeySet();
+    iterateTroughChildrenInParallel(
+      virtualFiles,
+      testFileCollector(testFiles, indicator),
+      () -> nonNull(indicator) && indicator.isCanceled()
+    );
+    if (nonNull(indicator)) {
+      indicator.checkCanceled();
+    }
+    return sortByPath(testFiles);
+  }
+
+  /**
+   * Applies the test file predicate during the traversal, so that only test files are collected.
+   * VirtualFiles are unique per file, so the set removes duplicated selections by identity.
+   */
+  private static Consumer<VirtualFile> testFileCollector(
+    Set<VirtualFile> testFiles,
+    @Nullable ProgressIndicator indicator
+  ) {
+    AtomicInteger foundTests = new AtomicInteger();
+    return (VirtualFile virtualFile) -> {
+      if (
+        isTestFile(virtualFile) &&
+        testFiles.add(virtualFile) &&
+        nonNull(indicator)
+      ) {
+        indicator.setText(
+          "Found " + foundTests.incrementAndGet() + " citrus tests"
+        );
+      }
+    };
+  }
+
+  private static List<VirtualFile> sortByPath(Set<VirtualFile> testFiles) {
+    // Keyed by path, so that every path is built only once
+    Map<String, VirtualFile> sortedTestFiles = new TreeMap<>();
+    for (VirtualFile testFile : testFiles) {
+      sortedTestFiles.put(testFile.getPath(), testFile);
+    }
+    return new ArrayList<>(sortedTestFiles.values());
+  }
 
-    return foundFiles
-      .values()
-      .stream()
-      .filter(VirtualFileUtil::isTestFile)
-      .map(VirtualFileUtil::modifyFileName)
-      .collect(Collectors.joining(",", "", ""));
+  public static String joinTestFileNames(List<VirtualFile> testFiles) {
+    return joinTestFileNames(testFiles, false);
   }
 
-  private static String modifyFileName(VirtualFile virtualFile) {
-    //*GS2010-26866-03_DebitCards_Actions_Card_Deactivate_Test*
-    return "*" + virtualFile.getName().replace(DOT_DEFAULT_EXTENSION, "") + "*";
+  /**
+   * Join the test files to the comma separated name patterns, e.g.
+   * *GS2010-26866-03_DebitCards_Actions_Card_Deactivate_Test*, in a single pre-sized builder.
+   *
+   * @param testFiles the test files
+   * @param exact     true for the exact test names, without the wildcards matching every test
+   *                  whose name contains a selected one
+   * @return the comma separated test file name patterns
+   */
+  public static String joinTestFileNames(
+    List<VirtualFile> testFiles,
+    boolean exact
+  ) {
+    String wildcard = exact ? "" : "*";
+    // Any extension of the XML file type, e.g. .xml or .xsd, as the tests are detected by content
+    String[] names = new String[testFiles.size()];
+    int capacity = Math.max(names.length - 1, 0); // Separators
+    for (int i = 0; i < names.length; i++) {
+      names[i] = testFiles.get(i).getNameWithoutExtension();
+      capacity += names[i].length() + 2 * wildcard.length();
+    }
+
+    StringBuilder testFileNames = new StringBuilder(capacity);
+    for (String name : names) {
+      if (!testFileNames.isEmpty()) {
+        testFileNames.append(',');
+      }
+      testFileNames.append(wildcard).append(name).append(wildcard);
+    }
+    return testFileNames.toString();
   }
 
-  private static boolean isTestFile(VirtualFile virtualFile) {
+  /**
+   * @return true if the file is an XML file with the root element of a citrus test,
+   * see {@link CitrusTestDetector}
+   */
+  public static boolean isTestFile(VirtualFile virtualFile) {
     String defaultExtension = virtualFile.getFileType().getDefaultExtension();
     return (
       defaultExtension.equals(DEFAULT_EXTENSION) &&
-      virtualFile.getName().endsWith(TEST_XML)
+      CitrusTestDetector.isCitrusTest(virtualFile)
     );
   }
 
@@ -72,17 +200,110 @@ public final class VirtualFileUtil {
    *
    * @param virtualFiles the array of virtual files
    * @param callback     the callback
+   * @param indicator    the progress indicator checked for cancellation, may be null
    */
   private static void iterateTroughChildren(
     VirtualFile[] virtualFiles,
-    Consumer<VirtualFile> callback
+    Consumer<VirtualFile> callback,
+    @Nullable ProgressIndicator indicator
   ) {
     for (VirtualFile virtualFile : virtualFiles) {
       if (virtualFile.isDirectory()) {
-        iterateTroughChildren(VfsUtil.getChildren(virtualFile), callback);
+        if (nonNull(indicator)) {
+          indicator.checkCanceled();
+          indicator.setText2(virtualFile.getPath());
+        }
+        iterateTroughChildren(
+          VfsUtil.getChildren(virtualFile),
+          callback,
+          indicator
+        );
       } else {
         callback.accept(virtualFile);
       }
     }
   }
+
+  /**
+   * Parallel version of {@link #iterateTroughChildren(VirtualFile[], Consumer, ProgressIndicator)}.
+   * Every folder is traversed by its own fork join task, so wide trees are split across all cores.
+   * The callback must therefore be thread-safe.
+   *
+   * @param virtualFiles the array of virtual files
+   * @param callback     the thread-safe callback
+   * @param stop         checked before every file, stops all workers once it returns true
+   */
+  private static void iterateTroughChildrenInParallel(
+    VirtualFile[] virtualFiles,
+    Consumer<VirtualFile> callback,
+    BooleanSupplier stop
+  ) {
+    TraversalPoolHolder.POOL.invoke(
+      new ParallelTraversalTask(null, virtualFiles, callback, stop)
+    );
+  }
+
+  private static final class TraversalPoolHolder {
+
+    // Dedicated pool, because loading the children of a cold folder blocks on disk I/O
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+      Runtime.getRuntime().availableProcessors()
+    );
+  }
+
+  /**
+   * VFS reads are thread-safe, so the workers do not take a read action themselves.
+   * This also keeps them from blocking on a pending write action of the UI thread.
+   */
+  private static final class ParallelTraversalTask extends RecursiveAction {
+
+    private final @Nullable VirtualFile directory;
+    private final VirtualFile[] virtualFiles;
+    private final Consumer<VirtualFile> callback;
+    private final BooleanSupplier stop;
+
+    /**
+     * @param directory    the folder whose children are loaded by the task itself,
+     *                     null to traverse the given files
+     * @param virtualFiles the files to traverse if no folder is given
+     */
+    private ParallelTraversalTask(
+      @Nullable VirtualFile directory,
+      VirtualFile[] virtualFiles,
+      Consumer<VirtualFile> callback,
+      BooleanSupplier stop
+    ) {
+      this.directory = directory;
+      this.virtualFiles = virtualFiles;
+      this.callback = callback;
+      this.stop = stop;
+    }
+
+    @Override
+    protected void compute() {
+      // Loaded by the worker running the task, so that cold folders are read in parallel
+      VirtualFile[] files = isNull(directory)
+        ? virtualFiles
+        : VfsUtil.getChildren(directory);
+      List<ParallelTraversalTask> subTasks = new ArrayList<>();
+      for (VirtualFile virtualFile : files) {
+        if (stop.getAsBoolean()) {
+          break;
+        }
+        if (virtualFile.isDirectory()) {
+          subTasks.add(
+            new ParallelTraversalTask(
+              virtualFile,
+              VirtualFile.EMPTY_ARRAY,
+              callback,
+              stop
+            )
+          );
+        } else {
+          callback.accept(virtualFile);
+        }
+      }
+      invokeAll(subTasks);
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.diagnostics.Phase;
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import ch.postfinance.citrusframework.plugin.index.AffectedTestFinder;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Background task looking up the citrus tests affected by the selected files in the reference index.
+ * Waits for the indexes if they are being built. The affected tests are passed to the callback
+ * on the UI thread.
+ */
+class AffectedTestDiscoveryTask extends Task.Backgroundable {
+
+  private static final String TITLE = "Looking up affected citrus XML tests";
+
+  private final VirtualFile[] virtualFiles;
+  private final Consumer<TestSelection> callback;
+  private TestSelection testSelection;
+
+  AffectedTestDiscoveryTask(
+    Project project,
+    VirtualFile[] virtualFiles,
+    Consumer<TestSelection> callback
+  ) {
+    super(project, TITLE, true);
+    this.virtualFiles = virtualFiles;
+    this.callback = callback;
+  }
+
+  @Override
+  public void run(@NotNull ProgressIndicator indicator) {
+    long startNanos = System.nanoTime();
+    indicator.setIndeterminate(true);
+    List<VirtualFile> changedFiles = Arrays.stream(virtualFiles)
+      .filter(virtualFile -> !virtualFile.isDirectory())
+      .toList();
+    List<VirtualFile> affectedTests = DumbService.getInstance(
+      getProject()
+    ).runReadActionInSmartMode(() ->
+      AffectedTestFinder.findAffectedTests(getProject(), changedFiles)
+    );
+    testSelection = new TestSelection(affectedTests, List.of());
+    PhaseTimings.getInstance().record(
+      Phase.DISCOVERY,
+      startNanos,
+      affectedTests.size()
+    );
+  }
+
+  @Override
+  public void onSuccess() {
+    callback.accept(testSelection);
+  }
+}
@@ -0,0 +1,40 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.ui.Messages;
+import java.awt.datatransfer.StringSelection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Diagnostic dump of the {@link PhaseTimings}: shown in a dialog, written to the IDE log
+ * and copied to the clipboard, so that it can be attached to a performance report.
+ */
+public class CitrusTimingsAction extends AnAction {
+
+  private static final Logger LOG = Logger.getInstance(
+    CitrusTimingsAction.class
+  );
+  private static final String TITLE = "Citrus XML Test Runner Timings";
+
+  @Override
+  public @NotNull ActionUpdateThread getActionUpdateThread() {
+    return ActionUpdateThread.BGT;
+  }
+
+  @Override
+  public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+    String dump = PhaseTimings.getInstance().dump();
+    LOG.info(TITLE + "\n" + dump);
+    CopyPasteManager.getInstance().setContents(new StringSelection(dump));
+    Messages.showInfoMessage(
+      anActionEvent.getProject(),
+      dump + "\nCopied to the clipboard.",
+      TITLE
+    );
+  }
+}
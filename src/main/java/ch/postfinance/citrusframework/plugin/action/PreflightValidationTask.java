@@ -0,0 +1,107 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.diagnostics.Phase;
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator.FileCheck;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator.Problem;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cancellable background task validating the selected tests before a JVM is launched, see
+ * {@link XmlTestValidator}. The tests are read in parallel on all cores, the referenced files
+ * are then looked up once each in the file name index.
+ * The problems are passed to the callback on the UI thread.
+ */
+class PreflightValidationTask extends Task.Backgroundable {
+
+  private static final String TITLE = "Validating citrus XML tests";
+
+  private final TestSelection testSelection;
+  private final Consumer<List<Problem>> callback;
+  private List<Problem> problems;
+
+  PreflightValidationTask(
+    Project project,
+    TestSelection testSelection,
+    Consumer<List<Problem>> callback
+  ) {
+    super(project, TITLE, true);
+    this.testSelection = testSelection;
+    this.callback = callback;
+  }
+
+  @Override
+  public void run(@NotNull ProgressIndicator indicator) {
+    long startNanos = System.nanoTime();
+    indicator.setIndeterminate(true);
+    List<VirtualFile> testFiles = testSelection.getTestFiles();
+    // VFS reads are thread-safe, so the tests are read without a read action
+    List<FileCheck> fileChecks = testFiles
+      .parallelStream()
+      .map(testFile -> {
+        indicator.checkCanceled();
+        return XmlTestValidator.check(testFile);
+      })
+      .toList();
+
+    Set<String> missingFiles = DumbService.getInstance(
+      getProject()
+    ).runReadActionInSmartMode(() -> findMissingFiles(fileChecks, indicator));
+
+    problems = new ArrayList<>();
+    for (int i = 0; i < testFiles.size(); i++) {
+      problems.addAll(
+        XmlTestValidator.problems(
+          testFiles.get(i),
+          fileChecks.get(i),
+          missingFiles
+        )
+      );
+    }
+    PhaseTimings.getInstance().record(
+      Phase.VALIDATION,
+      startNanos,
+      testFiles.size()
+    );
+  }
+
+  @Override
+  public void onSuccess() {
+    callback.accept(problems);
+  }
+
+  private Set<String> findMissingFiles(
+    List<FileCheck> fileChecks,
+    ProgressIndicator indicator
+  ) {
+    GlobalSearchScope scope = GlobalSearchScope.allScope(getProject());
+    Set<String> checkedFiles = new HashSet<>();
+    Set<String> missingFiles = new HashSet<>();
+    for (FileCheck fileCheck : fileChecks) {
+      for (String fileName : fileCheck.referencedFiles().keySet()) {
+        indicator.checkCanceled();
+        if (
+          checkedFiles.add(fileName) &&
+          FilenameIndex.getVirtualFilesByName(fileName, scope).isEmpty()
+        ) {
+          missingFiles.add(fileName);
+        }
+      }
+    }
+    return missingFiles;
+  }
+}
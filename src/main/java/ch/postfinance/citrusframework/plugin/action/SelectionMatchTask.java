@@ -0,0 +1,112 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.VirtualFileUtil;
+import ch.postfinance.citrusframework.plugin.execution.SelectionMatchReport;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cancellable background task counting the citrus tests matched by the name patterns
+ * of a selection. The candidates are looked up in the file name index, so only the files
+ * whose name contains a selected test name are checked for being citrus tests.
+ * The report is passed to the callback on the UI thread.
+ */
+class SelectionMatchTask extends Task.Backgroundable {
+
+  private static final String TITLE = "Checking the selected citrus XML tests";
+
+  private final TestSelection testSelection;
+  private final Consumer<SelectionMatchReport> callback;
+  private SelectionMatchReport report;
+
+  SelectionMatchTask(
+    Project project,
+    TestSelection testSelection,
+    Consumer<SelectionMatchReport> callback
+  ) {
+    super(project, TITLE, true);
+    this.testSelection = testSelection;
+    this.callback = callback;
+  }
+
+  @Override
+  public void run(@NotNull ProgressIndicator indicator) {
+    indicator.setIndeterminate(true);
+    List<String> selectedNames = testSelection
+      .getTestFiles()
+      .stream()
+      .map(VirtualFile::getNameWithoutExtension)
+      .toList();
+    List<String> testNames = DumbService.getInstance(
+      getProject()
+    ).runReadActionInSmartMode(() ->
+      findMatchingTestNames(selectedNames, indicator)
+    );
+    report = SelectionMatchReport.of(selectedNames, testNames);
+  }
+
+  @Override
+  public void onSuccess() {
+    callback.accept(report);
+  }
+
+  /**
+   * @return the names of the citrus tests containing a selected name, one per test file
+   */
+  private List<String> findMatchingTestNames(
+    List<String> selectedNames,
+    ProgressIndicator indicator
+  ) {
+    GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+    List<String> candidateFileNames = new ArrayList<>();
+    FilenameIndex.processAllFileNames(
+      fileName -> {
+        indicator.checkCanceled();
+        // Tests are detected by content, so every extension of the XML file type is a candidate
+        if (containsAny(fileName, selectedNames)) {
+          candidateFileNames.add(fileName);
+        }
+        return true;
+      },
+      scope,
+      null
+    );
+
+    List<String> testNames = new ArrayList<>();
+    for (String candidateFileName : candidateFileNames) {
+      for (VirtualFile candidate : FilenameIndex.getVirtualFilesByName(
+        candidateFileName,
+        scope
+      )) {
+        if (VirtualFileUtil.isTestFile(candidate)) {
+          testNames.add(candidate.getNameWithoutExtension());
+        }
+      }
+    }
+    return testNames;
+  }
+
+  private static boolean containsAny(
+    String fileName,
+    List<String> selectedNames
+  ) {
+    String name = FileUtilRt.getNameWithoutExtension(fileName);
+    for (String selectedName : selectedNames) {
+      if (name.contains(selectedName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
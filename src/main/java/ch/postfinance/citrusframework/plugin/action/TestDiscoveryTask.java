@@ -0,0 +1,90 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import static ch.postfinance.citrusframework.plugin.VirtualFileUtil.retrieveTestFilesInParallel;
+import static java.util.Objects.isNull;
+
+import ch.postfinance.citrusframework.plugin.diagnostics.Phase;
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cancellable background task discovering the citrus tests of a selection,
+ * so that the UI thread never blocks on the traversal.
+ * The discovered tests are passed to the callback on the UI thread.
+ */
+class TestDiscoveryTask extends Task.Backgroundable {
+
+  private static final String TITLE = "Discovering citrus XML tests";
+
+  private final VirtualFile[] virtualFiles;
+  private final Consumer<TestSelection> callback;
+  private TestSelection testSelection;
+
+  TestDiscoveryTask(
+    Project project,
+    VirtualFile[] virtualFiles,
+    Consumer<TestSelection> callback
+  ) {
+    super(project, TITLE, true);
+    this.virtualFiles = virtualFiles;
+    this.callback = callback;
+  }
+
+  @Override
+  public void run(@NotNull ProgressIndicator indicator) {
+    long startNanos = System.nanoTime();
+    indicator.setIndeterminate(true);
+    List<VirtualFile> testFiles = retrieveTestFilesInParallel(
+      virtualFiles,
+      indicator
+    );
+    List<String> directories = ReadAction.compute(() ->
+      retrieveSelectedDirectories(ProjectFileIndex.getInstance(getProject()))
+    );
+    testSelection = new TestSelection(testFiles, directories);
+    PhaseTimings.getInstance().record(
+      Phase.DISCOVERY,
+      startNanos,
+      testFiles.size()
+    );
+  }
+
+  @Override
+  public void onSuccess() {
+    callback.accept(testSelection);
+  }
+
+  /**
+   * @return the source root relative paths of the selected folders, or an empty list
+   * if a file, a source root itself or a folder outside the sources was selected
+   */
+  private List<String> retrieveSelectedDirectories(
+    ProjectFileIndex projectFileIndex
+  ) {
+    List<String> directories = new ArrayList<>(virtualFiles.length);
+    for (VirtualFile virtualFile : virtualFiles) {
+      if (!virtualFile.isDirectory()) {
+        return List.of();
+      }
+      VirtualFile sourceRoot = projectFileIndex.getSourceRootForFile(
+        virtualFile
+      );
+      if (isNull(sourceRoot) || sourceRoot.equals(virtualFile)) {
+        return List.of();
+      }
+      directories.add(VfsUtilCore.getRelativePath(virtualFile, sourceRoot));
+    }
+    return directories;
+  }
+}
@@ -1,26 +1,72 @@
 package ch.postfinance.citrusframework.plugin.action;
 
-import static ch.postfinance.citrusframework.plugin.VirtualFileUtil.containsAtLeastOneTestFile;
 import static com.intellij.openapi.ui.Messages.showMessageDialog;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
+import ch.postfinance.citrusframework.plugin.daemon.CitrusDaemon;
+import ch.postfinance.citrusframework.plugin.daemon.DaemonProtocol;
+import ch.postfinance.citrusframework.plugin.diagnostics.Phase;
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import ch.postfinance.citrusframework.plugin.execution.BatchRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusWatchService;
+import ch.postfinance.citrusframework.plugin.execution.FastRelaunchTracker;
+import ch.postfinance.citrusframework.plugin.execution.PreparedConfigurationCache;
+import ch.postfinance.citrusframework.plugin.execution.ShardedRun;
+import ch.postfinance.citrusframework.plugin.execution.TestDurationHistory;
+import ch.postfinance.citrusframework.plugin.execution.TestSharder;
+import ch.postfinance.citrusframework.plugin.execution.TestsToRunEncoder;
+import ch.postfinance.citrusframework.plugin.index.SelectionVerdictCache;
+import ch.postfinance.citrusframework.plugin.listener.CitrusExecutionListener;
+import ch.postfinance.citrusframework.plugin.listener.CitrusTestStatusListener;
+import ch.postfinance.citrusframework.plugin.load.LoadProfile;
+import ch.postfinance.citrusframework.plugin.load.LoadRun;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.profiling.JfrRecordings;
+import ch.postfinance.citrusframework.plugin.settings.CitrusSettings;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator.Problem;
+import com.intellij.execution.BeforeRunTask;
 import com.intellij.execution.Executor;
 import com.intellij.execution.JavaTestConfigurationBase;
 import com.intellij.execution.ProgramRunnerUtil;
 import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.execution.runners.ExecutionEnvironmentBuilder;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.task.ProjectTaskManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
 
 public abstract class XmlAbstractAction extends AnAction {
 
-  private static final String D_TESTS_TO_RUN = "-Dtests.to.run=";
   protected static final String ERROR = "Error";
   protected static final String INFO = "Info";
+  private static final String NO_TESTS_FOUND_MESSAGE =
+    "No citrus XML tests found in the selection.";
+  // Larger selections are usually whole folders, where every matched test was selected anyway
+  private static final int MAX_CHECKED_TESTS = 200;
+  private static final int MAX_NOTIFIED_PROBLEMS = 5;
 
   @Override
   public @NotNull ActionUpdateThread getActionUpdateThread() {
@@ -29,45 +75,677 @@ public abstract class XmlAbstractAction extends AnAction {
 
   /**
    * Enables and sets the action visible only
-   * if a project is available and the user selected a folder(s) or file(s) that is a citrus Test
+   * if a project is available and the user selected a folder(s) or file(s) that is a citrus Test.
+   * Folders are looked up in the test file index and never traversed, and the verdict is shared
+   * by all plugin actions of the same menu.
    */
   @Override
   public void update(@NotNull AnActionEvent anActionEvent) {
+    long startNanos = System.nanoTime();
+    Project project = anActionEvent.getProject();
     VirtualFile[] virtualFiles = anActionEvent.getData(
       CommonDataKeys.VIRTUAL_FILE_ARRAY
     );
     anActionEvent
       .getPresentation()
       .setEnabledAndVisible(
-        nonNull(anActionEvent.getProject()) &&
+        nonNull(project) &&
           nonNull(virtualFiles) &&
-          containsAtLeastOneTestFile(virtualFiles)
+          SelectionVerdictCache.getInstance().containsAtLeastOneTestFile(
+            project,
+            virtualFiles
+          )
       );
+    PhaseTimings.getInstance().record(
+      Phase.UPDATE,
+      startNanos,
+      nonNull(virtualFiles) ? virtualFiles.length : 0
+    );
+  }
+
+  /**
+   * Discovers the citrus tests of the selection in a cancellable background task
+   * and passes them to the callback, unless no test was found.
+   *
+   * @param project      the project
+   * @param virtualFiles the selected files and folders
+   * @param callback     the callback, executed on the UI thread
+   */
+  protected void discoverTestFiles(
+    Project project,
+    VirtualFile[] virtualFiles,
+    Consumer<TestSelection> callback
+  ) {
+    new TestDiscoveryTask(project, virtualFiles, testSelection -> {
+      if (testSelection.isEmpty()) {
+        showInfoDialog(NO_TESTS_FOUND_MESSAGE);
+        return;
+      }
+      validateSelection(project, testSelection, callback);
+    }).queue();
+  }
+
+  /**
+   * Validates the selected tests in the IDE before a JVM is launched, see
+   * {@link XmlTestValidator}, then passes them on to {@link #confirmSelection}. Invalid tests
+   * abort the launch with a notification linking to their problems.
+   *
+   * @param project       the project
+   * @param testSelection the discovered tests
+   * @param callback      the callback, executed on the UI thread
+   */
+  protected void validateSelection(
+    Project project,
+    TestSelection testSelection,
+    Consumer<TestSelection> callback
+  ) {
+    if (!CitrusSettings.getInstance(project).isPreflightValidation()) {
+      confirmSelection(project, testSelection, callback);
+      return;
+    }
+
+    // Validates what will be run, the launch saves the documents anyway
+    FileDocumentManager.getInstance().saveAllDocuments();
+    new PreflightValidationTask(project, testSelection, problems -> {
+      if (problems.isEmpty()) {
+        confirmSelection(project, testSelection, callback);
+        return;
+      }
+      notifyProblems(project, problems, () ->
+        confirmSelection(project, testSelection, callback)
+      );
+    }).queue();
+  }
+
+  private static void notifyProblems(
+    Project project,
+    List<Problem> problems,
+    Runnable launchAnyway
+  ) {
+    StringBuilder content = new StringBuilder(
+      problems.size() + " problems found, the tests were not launched:"
+    );
+    problems
+      .stream()
+      .limit(MAX_NOTIFIED_PROBLEMS)
+      .forEach(problem ->
+        content
+          .append("<br>")
+          .append(problem.getLocation())
+          .append(": ")
+          .append(StringUtil.escapeXmlEntities(problem.message()))
+      );
+
+    Notification notification = NotificationGroupManager.getInstance()
+      .getNotificationGroup(CitrusTestStatusListener.NOTIFICATION_GROUP)
+      .createNotification(
+        "Invalid citrus XML tests",
+        content.toString(),
+        NotificationType.ERROR
+      );
+    problems
+      .stream()
+      .limit(MAX_NOTIFIED_PROBLEMS)
+      .forEach(problem ->
+        notification.addAction(
+          NotificationAction.createSimple(problem.getLocation(), () ->
+            new OpenFileDescriptor(
+              project,
+              problem.file(),
+              problem.line() - 1,
+              problem.column() - 1
+            ).navigate(true)
+          )
+        )
+      );
+    notification.addAction(
+      NotificationAction.createSimpleExpiring("Launch Anyway", launchAnyway)
+    );
+    notification.notify(project);
+  }
+
+  /**
+   * Passes the selection to the callback by the exact test names in exact selection mode.
+   * Otherwise reports the name patterns matching more tests than selected, e.g. *Card_Test*
+   * matching Debit_Card_Test, and lets the user run the selected tests only.
+   *
+   * @param project       the project
+   * @param testSelection the discovered tests
+   * @param callback      the callback, executed on the UI thread
+   */
+  protected void confirmSelection(
+    Project project,
+    TestSelection testSelection,
+    Consumer<TestSelection> callback
+  ) {
+    if (CitrusSettings.getInstance(project).isExactSelection()) {
+      callback.accept(testSelection.exact());
+      return;
+    }
+    // Folders pass all their tests anyway
+    if (
+      !TestsToRunEncoder.usesNamePatterns(testSelection) ||
+      testSelection.getTestFiles().size() > MAX_CHECKED_TESTS
+    ) {
+      callback.accept(testSelection);
+      return;
+    }
+
+    new SelectionMatchTask(project, testSelection, report -> {
+      if (!report.isOverMatching()) {
+        callback.accept(testSelection);
+        return;
+      }
+      int answer = Messages.showYesNoCancelDialog(
+        project,
+        report.getSummary(),
+        INFO,
+        "Run Selected Only",
+        "Run All " + report.getMatchedTests(),
+        Messages.getCancelButton(),
+        Messages.getWarningIcon()
+      );
+      if (answer == Messages.YES) {
+        callback.accept(testSelection.exact());
+      } else if (answer == Messages.NO) {
+        callback.accept(testSelection);
+      }
+    }).queue();
   }
 
+  /**
+   * Launches the tests with a copy of the selected configuration and remembers the launch
+   * for the watch mode
+   */
   protected void executeWithTestFiles(
     RunnerAndConfigurationSettings selectedConfiguration,
-    String testFileNames,
+    TestSelection testSelection,
     Executor executor
   ) {
+    Project project = selectedConfiguration.getConfiguration().getProject();
+    rememberForWatch(selectedConfiguration, testSelection, executor);
+    if (CitrusSettings.getInstance(project).isDaemonMode()) {
+      executeWithDaemon(selectedConfiguration, testSelection, executor);
+      return;
+    }
+    executeWithTestFiles(
+      selectedConfiguration,
+      testSelection,
+      executor,
+      new CitrusRun(selectedConfiguration.getName(), null)
+    );
+  }
+
+  private void rememberForWatch(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor
+  ) {
+    CitrusWatchService.getInstance(
+      selectedConfiguration.getConfiguration().getProject()
+    ).launched(affectedTests ->
+      executeWithTestFiles(
+        selectedConfiguration,
+        testSelection.isExact() ? affectedTests.exact() : affectedTests,
+        executor
+      )
+    );
+  }
+
+  /**
+   * Launches the tests that failed in their last run, and the other tests without build once
+   * the first run terminated. The failures thus show up first, whatever order the runner
+   * runs the tests of one launch in.
+   *
+   * @param selectedConfiguration the configuration to copy
+   * @param testSelection         the tests to run
+   * @param failed                the tests to run first
+   * @param executor              the executor
+   */
+  protected void executeFailedFirst(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Predicate<VirtualFile> failed,
+    Executor executor
+  ) {
+    TestSelection failedTests = testSelection.filter(failed);
+    TestSelection otherTests = testSelection.filter(failed.negate());
+    Project project = selectedConfiguration.getConfiguration().getProject();
     if (
-      !(selectedConfiguration.getConfiguration() instanceof
-          JavaTestConfigurationBase originalConfig)
+      failedTests.isEmpty() ||
+      otherTests.isEmpty() ||
+      CitrusSettings.getInstance(project).isDaemonMode()
     ) {
-      String configType = selectedConfiguration
-        .getConfiguration()
-        .getType()
-        .getDisplayName();
+      executeWithTestFiles(selectedConfiguration, testSelection, executor);
+      return;
+    }
+
+    rememberForWatch(selectedConfiguration, testSelection, executor);
+    String name = selectedConfiguration.getName();
+    CitrusRun failedRun = new CitrusRun(name + " [failed]", null);
+    failedRun.setNextLaunch(() ->
+      executeWithTestFiles(
+        selectedConfiguration,
+        otherTests,
+        executor,
+        new CitrusRun(name + " [others]", null),
+        true
+      )
+    );
+    executeWithTestFiles(
+      selectedConfiguration,
+      failedTests,
+      executor,
+      failedRun
+    );
+  }
+
+  /**
+   * Sends the tests to the running daemon, or starts a new daemon with them if the running one
+   * cannot be reused
+   */
+  private void executeWithDaemon(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor
+  ) {
+    if (!isSupportedConfiguration(selectedConfiguration)) {
+      return;
+    }
+
+    CitrusDaemon daemon = CitrusDaemon.getInstance(
+      selectedConfiguration.getConfiguration().getProject()
+    );
+    if (daemon.isReusable(selectedConfiguration, executor)) {
+      daemon.run(testSelection);
+      return;
+    }
+    daemon.starting(selectedConfiguration, executor);
+    executeWithTestFiles(
+      selectedConfiguration,
+      testSelection,
+      executor,
+      new CitrusRun(selectedConfiguration.getName() + " [daemon]", null, true)
+    );
+  }
+
+  /**
+   * Launches the tests with a copy of the selected configuration recording a flight recording,
+   * which is summarized once the process exited
+   */
+  protected void executeProfiled(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor
+  ) {
+    if (!isSupportedConfiguration(selectedConfiguration)) {
+      return;
+    }
+
+    String name = selectedConfiguration.getName() + " [JFR]";
+    Path jfrRecording;
+    try {
+      jfrRecording = JfrRecordings.newRecordingFile(
+        selectedConfiguration.getConfiguration().getProject(),
+        name
+      );
+    } catch (IOException e) {
+      showErrorDialog(
+        "The flight recording file could not be created: " + e.getMessage()
+      );
+      return;
+    }
+    executeWithTestFiles(
+      selectedConfiguration,
+      testSelection,
+      executor,
+      new CitrusRun(name, null).profiled(jfrRecording)
+    );
+  }
+
+  /**
+   * Launches the tests with a copy of the selected configuration telling the runner to repeat
+   * them, and reports their throughput and latencies once the process exited
+   */
+  protected void executeLoadTest(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor,
+    LoadProfile loadProfile
+  ) {
+    executeWithTestFiles(
+      selectedConfiguration,
+      testSelection,
+      executor,
+      new CitrusRun(selectedConfiguration.getName() + " [Load]", null).loadTest(
+        new LoadRun(loadProfile)
+      )
+    );
+  }
+
+  /**
+   * Splits the tests into shards balanced by their recorded durations and launches
+   * one copy of the selected configuration per shard, all running in parallel.
+   * Only the first shard runs the build steps, the others are launched once it started.
+   *
+   * @param selectedConfiguration the configuration to copy
+   * @param testSelection         the tests to run
+   * @param executor              the executor
+   * @param shardCount            the maximum number of shards
+   */
+  protected void executeSharded(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor,
+    int shardCount
+  ) {
+    if (!isSupportedConfiguration(selectedConfiguration)) {
+      return;
+    }
+
+    Project project = selectedConfiguration.getConfiguration().getProject();
+    List<List<VirtualFile>> shards = TestSharder.shard(
+      testSelection.getTestFiles(),
+      shardCount,
+      TestDurationHistory.getInstance(project).getExpectedDurations()
+    );
+    ShardedRun shardedRun = new ShardedRun(
+      selectedConfiguration.getName(),
+      shards.size()
+    );
+    List<Runnable> otherLaunches = new ArrayList<>(shards.size() - 1);
+    for (int i = 1; i < shards.size(); i++) {
+      int shardIndex = i;
+      otherLaunches.add(() ->
+        executeWithTestFiles(
+          selectedConfiguration,
+          testSelection.withTestFiles(shards.get(shardIndex)),
+          executor,
+          newShardRun(selectedConfiguration, shardedRun, shardIndex),
+          true
+        )
+      );
+    }
+    shardedRun.start(
+      () ->
+        executeWithTestFiles(
+          selectedConfiguration,
+          testSelection.withTestFiles(shards.get(0)),
+          executor,
+          newShardRun(selectedConfiguration, shardedRun, 0),
+          false
+        ),
+      otherLaunches
+    );
+  }
+
+  private static CitrusRun newShardRun(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    ShardedRun shardedRun,
+    int shardIndex
+  ) {
+    return new CitrusRun(
+      selectedConfiguration.getName() +
+        " [shard " +
+        (shardIndex + 1) +
+        "/" +
+        shardedRun.getShardCount() +
+        "]",
+      shardedRun
+    );
+  }
+
+  /**
+   * Launches the tests against every selected configuration, at most the given number of
+   * configurations at a time. The results are summed up per configuration once all finished.
+   *
+   * @param selectedConfigurations the configurations to copy
+   * @param testSelection          the tests to run, shared by all configurations
+   * @param executor               the executor
+   * @param concurrencyLimit       the maximum number of configurations running at a time
+   */
+  protected void executeBatch(
+    List<RunnerAndConfigurationSettings> selectedConfigurations,
+    TestSelection testSelection,
+    Executor executor,
+    int concurrencyLimit
+  ) {
+    List<String> configurationNames = new ArrayList<>(
+      selectedConfigurations.size()
+    );
+    for (RunnerAndConfigurationSettings selectedConfiguration : selectedConfigurations) {
+      if (!isSupportedConfiguration(selectedConfiguration)) {
+        return;
+      }
+      configurationNames.add(selectedConfiguration.getName());
+    }
+
+    BatchRun batchRun = new BatchRun(configurationNames, concurrencyLimit);
+    List<Runnable> launches = new ArrayList<>(selectedConfigurations.size());
+    for (int i = 0; i < selectedConfigurations.size(); i++) {
+      RunnerAndConfigurationSettings selectedConfiguration =
+        selectedConfigurations.get(i);
+      int batchIndex = i;
+      launches.add(() ->
+        executeWithTestFiles(
+          selectedConfiguration,
+          testSelection,
+          executor,
+          new CitrusRun(selectedConfiguration.getName(), batchRun, batchIndex)
+        )
+      );
+    }
+    batchRun.start(launches);
+  }
+
+  private void executeWithTestFiles(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor,
+    CitrusRun citrusRun
+  ) {
+    executeWithTestFiles(
+      selectedConfiguration,
+      testSelection,
+      executor,
+      citrusRun,
+      false
+    );
+  }
+
+  /**
+   * @param withoutBuild true to drop the build steps, because another launch builds the project
+   */
+  private void executeWithTestFiles(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection,
+    Executor executor,
+    CitrusRun citrusRun,
+    boolean withoutBuild
+  ) {
+    Project project = selectedConfiguration.getConfiguration().getProject();
+    if (!isSupportedConfiguration(selectedConfiguration)) {
+      CitrusExecutionListener.runNotStarted(project, citrusRun);
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+    TestsToRunEncoder.Encoding testsToRun;
+    try {
+      testsToRun = TestsToRunEncoder.encode(testSelection);
+    } catch (IOException e) {
       showErrorDialog(
-        "The selected run configuration '" +
-          selectedConfiguration.getName() +
-          "' is of type '" +
-          configType +
-          "', which is not supported. " +
-          "Please select a JUnit or TestNG run configuration."
+        "The selected tests could not be written to a file: " + e.getMessage()
       );
+      // Frees the batch slot and counts the shard, as no process event will follow
+      CitrusExecutionListener.runNotStarted(project, citrusRun);
       return;
     }
+    citrusRun.setSelectionFile(testsToRun.selectionFile());
+
+    PreparedConfigurationCache preparedConfigurationCache =
+      PreparedConfigurationCache.getInstance(project);
+    // Every profiled run writes its own recording, every load test may repeat its tests
+    // differently and every selection file is deleted with its process, so their copies
+    // are never reused
+    boolean cacheable =
+      isNull(citrusRun.getJfrRecording()) &&
+      isNull(citrusRun.getLoadRun()) &&
+      isNull(testsToRun.selectionFile());
+    RunnerAndConfigurationSettings copyRunConfSettings = null;
+    if (cacheable) {
+      copyRunConfSettings = preparedConfigurationCache.get(
+        selectedConfiguration,
+        citrusRun.getName(),
+        testsToRun.vmParameter()
+      );
+    }
+    if (isNull(copyRunConfSettings)) {
+      copyRunConfSettings = prepareConfiguration(
+        selectedConfiguration,
+        testsToRun.vmParameter(),
+        citrusRun
+      );
+      if (cacheable) {
+        preparedConfigurationCache.put(
+          selectedConfiguration,
+          citrusRun.getName(),
+          testsToRun.vmParameter(),
+          copyRunConfSettings
+        );
+      }
+    }
+    PhaseTimings.getInstance().record(
+      Phase.CONFIGURATION_COPY,
+      startNanos,
+      testSelection.getTestFiles().size()
+    );
+
+    launch(
+      selectedConfiguration,
+      copyRunConfSettings,
+      executor,
+      citrusRun,
+      withoutBuild
+    );
+  }
+
+  /**
+   * Launches the copy with the before run tasks of the selected configuration. In fast relaunch
+   * mode, the build steps are replaced by copying the XML test resources changed since the last
+   * launch, as long as nothing else changed. If the copy fails, the build steps run after all.
+   * Without build, e.g. for the shards built by the first one, the build steps are dropped.
+   */
+  private void launch(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    RunnerAndConfigurationSettings copyRunConfSettings,
+    Executor executor,
+    CitrusRun citrusRun,
+    boolean withoutBuild
+  ) {
+    Project project = selectedConfiguration.getConfiguration().getProject();
+    List<BeforeRunTask<?>> beforeRunTasks = selectedConfiguration
+      .getConfiguration()
+      .getBeforeRunTasks();
+    JavaTestConfigurationBase copyConfig =
+      (JavaTestConfigurationBase) copyRunConfSettings.getConfiguration();
+    if (withoutBuild) {
+      copyConfig.setBeforeRunTasks(
+        FastRelaunchTracker.withoutBuildTasks(beforeRunTasks)
+      );
+      execute(copyRunConfSettings, executor, citrusRun);
+      return;
+    }
+
+    // Taken before the build, the changes made while it runs are not part of it
+    citrusRun.setBuildGeneration(
+      FastRelaunchTracker.getInstance(project).getGeneration()
+    );
+    List<VirtualFile> changedTestResources = CitrusSettings.getInstance(
+      project
+    ).isFastRelaunch()
+      ? FastRelaunchTracker.getInstance(project).getTestResourceOnlyChanges()
+      : null;
+    if (isNull(changedTestResources)) {
+      copyConfig.setBeforeRunTasks(beforeRunTasks);
+      execute(copyRunConfSettings, executor, citrusRun);
+      return;
+    }
+
+    copyConfig.setBeforeRunTasks(
+      FastRelaunchTracker.withoutBuildTasks(beforeRunTasks)
+    );
+    if (changedTestResources.isEmpty()) {
+      execute(copyRunConfSettings, executor, citrusRun);
+      return;
+    }
+    ProjectTaskManager.getInstance(project)
+      .compile(changedTestResources.toArray(VirtualFile.EMPTY_ARRAY))
+      .onProcessed(result ->
+        ApplicationManager.getApplication()
+          .invokeLater(
+            () -> {
+              if (
+                isNull(result) || result.hasErrors() || result.isAborted()
+              ) {
+                // Falls back to the build steps, which report the failure if it persists
+                notifyResourceCopyFailed(project);
+                copyConfig.setBeforeRunTasks(beforeRunTasks);
+              }
+              execute(copyRunConfSettings, executor, citrusRun);
+            },
+            project.getDisposed()
+          )
+      );
+  }
+
+  /**
+   * Attaches the run to the environment of this launch, not to the copy, which is cached and
+   * may be launched again while this launch is still running
+   */
+  private static void execute(
+    RunnerAndConfigurationSettings copyRunConfSettings,
+    Executor executor,
+    CitrusRun citrusRun
+  ) {
+    ExecutionEnvironmentBuilder builder =
+      ExecutionEnvironmentBuilder.createOrNull(executor, copyRunConfSettings);
+    if (isNull(builder)) {
+      CitrusExecutionListener.runNotStarted(
+        copyRunConfSettings.getConfiguration().getProject(),
+        citrusRun
+      );
+      return;
+    }
+    ExecutionEnvironment environment = builder.build();
+    environment.putUserData(CitrusRun.KEY, citrusRun);
+    ProgramRunnerUtil.executeConfiguration(environment, false, true);
+  }
+
+  private static void notifyResourceCopyFailed(Project project) {
+    NotificationGroupManager.getInstance()
+      .getNotificationGroup(CitrusTestStatusListener.NOTIFICATION_GROUP)
+      .createNotification(
+        "Fast relaunch",
+        "The changed XML test resources could not be copied, the tests are launched with the full build",
+        NotificationType.WARNING
+      )
+      .notify(project);
+  }
+
+  /**
+   * Copies the selected configuration, selecting the tests with a VM parameter
+   *
+   * @param testsToRun the encoded VM parameter selecting the tests
+   * @return the copy
+   */
+  private RunnerAndConfigurationSettings prepareConfiguration(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    String testsToRun,
+    CitrusRun citrusRun
+  ) {
+    JavaTestConfigurationBase originalConfig =
+      (JavaTestConfigurationBase) selectedConfiguration.getConfiguration();
 
     String existingVMParameters = originalConfig.getVMParameters();
 
@@ -77,17 +755,77 @@ public abstract class XmlAbstractAction extends AnAction {
     JavaTestConfigurationBase copyConfig =
       (JavaTestConfigurationBase) copyRunConfSettings.getConfiguration();
 
-    copyConfig.setBeforeRunTasks(originalConfig.getBeforeRunTasks());
-    copyConfig.setName(selectedConfiguration.getName());
-    if (nonNull(existingVMParameters)) {
-      copyConfig.setVMParameters(
-        existingVMParameters + " " + D_TESTS_TO_RUN + testFileNames
+    copyConfig.setName(citrusRun.getName());
+    String vmParameters = appendVmParameter(existingVMParameters, testsToRun);
+    if (citrusRun.isDaemon()) {
+      vmParameters = appendVmParameter(
+        vmParameters,
+        DaemonProtocol.DAEMON_PORT +
+          CitrusDaemon.getInstance(originalConfig.getProject()).getPort()
       );
-    } else {
-      copyConfig.setVMParameters(D_TESTS_TO_RUN + testFileNames);
     }
+    if (nonNull(citrusRun.getJfrRecording())) {
+      vmParameters = appendVmParameter(
+        vmParameters,
+        JfrRecordings.vmParameter(citrusRun.getJfrRecording())
+      );
+    }
+    if (nonNull(citrusRun.getLoadRun())) {
+      vmParameters = appendVmParameter(
+        vmParameters,
+        String.join(" ", citrusRun.getLoadRun().getProfile().vmParameters())
+      );
+    }
+    copyConfig.setVMParameters(vmParameters);
+    if (nonNull(citrusRun.getShardedRun())) {
+      copyConfig.setAllowRunningInParallel(true);
+    }
+    return copyRunConfSettings;
+  }
 
-    ProgramRunnerUtil.executeConfiguration(copyRunConfSettings, executor);
+  private boolean isSupportedConfiguration(
+    RunnerAndConfigurationSettings selectedConfiguration
+  ) {
+    if (
+      selectedConfiguration.getConfiguration() instanceof
+        JavaTestConfigurationBase
+    ) {
+      return true;
+    }
+
+    String configType = selectedConfiguration
+      .getConfiguration()
+      .getType()
+      .getDisplayName();
+    showErrorDialog(
+      "The selected run configuration '" +
+        selectedConfiguration.getName() +
+        "' is of type '" +
+        configType +
+        "', which is not supported. " +
+        "Please select a JUnit or TestNG run configuration."
+    );
+    return false;
+  }
+
+  static String buildVmParameters(
+    String existingVMParameters,
+    String testFileNames
+  ) {
+    return appendVmParameter(
+      existingVMParameters,
+      TestsToRunEncoder.TESTS_TO_RUN + testFileNames
+    );
+  }
+
+  static String appendVmParameter(
+    String existingVMParameters,
+    String vmParameter
+  ) {
+    if (nonNull(existingVMParameters)) {
+      return existingVMParameters + " " + vmParameter;
+    }
+    return vmParameter;
   }
 
   public void showErrorDialog(String errorMessage) {
@@ -0,0 +1,56 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This action runs (Run) the citrus tests affected by the files selected by the user,
+ * e.g. the tests using a shared fragment, payload or Java endpoint bean.
+ */
+public class XmlTestAffectedRunnerAction extends XmlTestRunnerAction {
+
+  private static final String NO_AFFECTED_TESTS_MESSAGE =
+    "No citrus XML tests use the selected files.";
+
+  /**
+   * Enables and sets the action visible if a project is available and the user selected any file.
+   */
+  @Override
+  public void update(@NotNull AnActionEvent anActionEvent) {
+    VirtualFile[] virtualFiles = anActionEvent.getData(
+      CommonDataKeys.VIRTUAL_FILE_ARRAY
+    );
+    anActionEvent
+      .getPresentation()
+      .setEnabledAndVisible(
+        nonNull(anActionEvent.getProject()) &&
+          nonNull(virtualFiles) &&
+          Arrays.stream(virtualFiles).anyMatch(
+            virtualFile -> !virtualFile.isDirectory()
+          )
+      );
+  }
+
+  @Override
+  protected void discoverTestFiles(
+    Project project,
+    VirtualFile[] virtualFiles,
+    Consumer<TestSelection> callback
+  ) {
+    new AffectedTestDiscoveryTask(project, virtualFiles, testSelection -> {
+      if (testSelection.isEmpty()) {
+        showInfoDialog(NO_AFFECTED_TESTS_MESSAGE);
+        return;
+      }
+      validateSelection(project, testSelection, callback);
+    }).queue();
+  }
+}
@@ -1,8 +1,8 @@
 package ch.postfinance.citrusframework.plugin.action;
 
-import static ch.postfinance.citrusframework.plugin.VirtualFileUtil.retrieveTestFileNames;
 import static java.util.Objects.isNull;
 
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
 import com.intellij.execution.Executor;
 import com.intellij.execution.RunManager;
 import com.intellij.execution.RunnerAndConfigurationSettings;
@@ -21,11 +21,6 @@ public abstract class XmlTestExecuteAbstractAction extends XmlAbstractAction {
 
   @Override
   public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
-    VirtualFile[] virtualFiles = anActionEvent.getData(
-      CommonDataKeys.VIRTUAL_FILE_ARRAY
-    );
-    String testFileNames = retrieveTestFileNames(virtualFiles);
-
     Project project = anActionEvent.getProject();
     if (isNull(project)) {
       showErrorDialog(PROJECT_NOT_FOUND_MESSAGE);
@@ -42,7 +37,23 @@ public abstract class XmlTestExecuteAbstractAction extends XmlAbstractAction {
       return;
     }
 
-    executeWithTestFiles(selectedConfiguration, testFileNames, getExecutor());
+    VirtualFile[] virtualFiles = anActionEvent.getData(
+      CommonDataKeys.VIRTUAL_FILE_ARRAY
+    );
+    discoverTestFiles(project, virtualFiles, testSelection ->
+      execute(project, selectedConfiguration, testSelection)
+    );
+  }
+
+  /**
+   * Launches the discovered tests with the selected configuration
+   */
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    executeWithTestFiles(selectedConfiguration, testSelection, getExecutor());
   }
 
   public abstract Executor getExecutor();
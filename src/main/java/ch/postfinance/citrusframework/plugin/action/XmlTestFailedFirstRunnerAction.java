@@ -0,0 +1,31 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.results.TestResultStore;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+import java.util.Set;
+
+/**
+ * This action runs (Run) the citrus tests selected by the user, starting with the ones
+ * that failed in their last run launched by the plugin, and the others in a second run.
+ */
+public class XmlTestFailedFirstRunnerAction extends XmlTestRunnerAction {
+
+  @Override
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    Set<String> failedTests = TestResultStore.getInstance(
+      project
+    ).getFailedTests();
+    executeFailedFirst(
+      selectedConfiguration,
+      testSelection,
+      testFile -> failedTests.contains(testFile.getNameWithoutExtension()),
+      getExecutor()
+    );
+  }
+}
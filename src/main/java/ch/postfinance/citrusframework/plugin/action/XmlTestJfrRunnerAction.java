@@ -0,0 +1,21 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+
+/**
+ * This action runs (Run) citrus tests selected by the user with Java Flight Recorder,
+ * and shows a summary of the recording in the Citrus tool window once the tests finished.
+ */
+public class XmlTestJfrRunnerAction extends XmlTestRunnerAction {
+
+  @Override
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    executeProfiled(selectedConfiguration, testSelection, getExecutor());
+  }
+}
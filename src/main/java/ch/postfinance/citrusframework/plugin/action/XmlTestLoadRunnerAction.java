@@ -0,0 +1,32 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.dialog.LoadTestDialogWrapper;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.settings.CitrusSettings;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+
+/**
+ * This action runs (Run) citrus tests selected by the user repeatedly and concurrently
+ * in one JVM, and reports their throughput and latency percentiles in the Citrus tool window.
+ */
+public class XmlTestLoadRunnerAction extends XmlTestRunnerAction {
+
+  @Override
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    CitrusSettings settings = CitrusSettings.getInstance(project);
+    new LoadTestDialogWrapper(settings.getLoadProfile()).show(loadProfile -> {
+      settings.setLoadProfile(loadProfile);
+      executeLoadTest(
+        selectedConfiguration,
+        testSelection,
+        getExecutor(),
+        loadProfile
+      );
+    });
+  }
+}
@@ -0,0 +1,40 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.results.TestResultStore;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+import java.util.Set;
+
+/**
+ * This action runs (Run) the citrus tests selected by the user that failed in their last run
+ * launched by the plugin.
+ */
+public class XmlTestRerunFailedAction extends XmlTestRunnerAction {
+
+  private static final String NO_FAILED_TESTS_MESSAGE =
+    "None of the selected citrus XML tests failed in its last run.";
+
+  @Override
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    Set<String> failedTests = TestResultStore.getInstance(
+      project
+    ).getFailedTests();
+    TestSelection failedTestSelection = testSelection.filter(testFile ->
+      failedTests.contains(testFile.getNameWithoutExtension())
+    );
+    if (failedTestSelection.isEmpty()) {
+      showInfoDialog(NO_FAILED_TESTS_MESSAGE);
+      return;
+    }
+    executeWithTestFiles(
+      selectedConfiguration,
+      failedTestSelection,
+      getExecutor()
+    );
+  }
+}
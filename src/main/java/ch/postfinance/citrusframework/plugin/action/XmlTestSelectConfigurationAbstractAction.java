@@ -1,10 +1,11 @@
 package ch.postfinance.citrusframework.plugin.action;
 
-import static ch.postfinance.citrusframework.plugin.VirtualFileUtil.retrieveTestFileNames;
 import static java.util.Objects.isNull;
 
 import ch.postfinance.citrusframework.plugin.dialog.RunConfigurationDialogWrapper;
 import ch.postfinance.citrusframework.plugin.model.RunConfig;
+import ch.postfinance.citrusframework.plugin.model.RunConfigurationModel;
+import ch.postfinance.citrusframework.plugin.settings.CitrusSettings;
 import com.intellij.execution.Executor;
 import com.intellij.execution.RunManager;
 import com.intellij.execution.RunnerAndConfigurationSettings;
@@ -12,13 +13,14 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Abstract Action with the functionality for displaying a dialog to the user, so that
  * he can select the run configuration file needed to run / debug citrus tests.
+ * Selecting several configurations launches the tests against each of them.
  */
 public abstract class XmlTestSelectConfigurationAbstractAction
   extends XmlAbstractAction
@@ -26,7 +28,7 @@ public abstract class XmlTestSelectConfigurationAbstractAction
 
   private static final String PROJECT_NOT_FOUND = "Project not found.";
   private static final String CONFIGURATION_NOT_FOUND_MESSAGE =
-    "No run configurations available. Please create a run configuration first.";
+    "No JUnit or TestNG run configurations available. Please create a run configuration first.";
 
   @Override
   public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
@@ -36,11 +38,11 @@ public abstract class XmlTestSelectConfigurationAbstractAction
       return;
     }
 
-    RunManager runManager = RunManager.getInstance(project);
-    List<RunnerAndConfigurationSettings> runConfigurationsSettings =
-      runManager.getAllSettings();
+    RunConfigurationModel runConfigurationModel =
+      RunConfigurationModel.getInstance(project);
+    List<RunConfig> runConfigs = runConfigurationModel.getRunConfigs();
 
-    if (runConfigurationsSettings.isEmpty()) {
+    if (runConfigs.isEmpty()) {
       showInfoDialog(CONFIGURATION_NOT_FOUND_MESSAGE);
       return;
     }
@@ -48,48 +50,51 @@ public abstract class XmlTestSelectConfigurationAbstractAction
     VirtualFile[] virtualFiles = anActionEvent.getData(
       CommonDataKeys.VIRTUAL_FILE_ARRAY
     );
-    String testFileNames = retrieveTestFileNames(virtualFiles);
-
-    List<RunConfig> runConfigs = runConfigurationsSettings
-      .stream()
-      .map(r -> new RunConfig(r.getName(), extractConfigType(r.getUniqueID())))
-      .toList();
 
     RunConfigurationDialogWrapper runConfigurationDialogWrapper =
       new RunConfigurationDialogWrapper(runConfigs);
-    runConfigurationDialogWrapper.show(selectedRunConfig -> {
-      Optional<RunnerAndConfigurationSettings> foundSettings =
-        findConfigurationByName(
-          runManager.getAllSettings(),
-          selectedRunConfig.getName()
-        );
-
-      foundSettings.ifPresent(runManager::setSelectedConfiguration);
-      RunnerAndConfigurationSettings selectedConfiguration =
-        runManager.getSelectedConfiguration();
-
-      if (isNull(selectedConfiguration)) {
-        showErrorDialog("No run configuration is currently selected.");
-        return;
+    runConfigurationDialogWrapper.show(selectedRunConfigs -> {
+      List<RunnerAndConfigurationSettings> selectedConfigurations =
+        new ArrayList<>(selectedRunConfigs.size());
+      for (RunConfig selectedRunConfig : selectedRunConfigs) {
+        RunnerAndConfigurationSettings selectedConfiguration =
+          runConfigurationModel.findByUniqueId(selectedRunConfig.getUniqueId());
+        if (isNull(selectedConfiguration)) {
+          showErrorDialog(
+            "The selected run configuration '" +
+              selectedRunConfig.getName() +
+              "' no longer exists."
+          );
+          return;
+        }
+        selectedConfigurations.add(selectedConfiguration);
       }
-
-      executeWithTestFiles(selectedConfiguration, testFileNames, getExecutor());
+      RunManager.getInstance(project).setSelectedConfiguration(
+        selectedConfigurations.getFirst()
+      );
+
+      // The tests are discovered once and shared by all selected configurations
+      discoverTestFiles(project, virtualFiles, testSelection -> {
+        if (selectedConfigurations.size() == 1) {
+          executeWithTestFiles(
+            selectedConfigurations.getFirst(),
+            testSelection,
+            getExecutor()
+          );
+        } else {
+          executeBatch(
+            selectedConfigurations,
+            testSelection,
+            getExecutor(),
+            CitrusSettings.getInstance(project).getBatchConcurrency()
+          );
+        }
+      });
     });
   }
 
   static String extractConfigType(String uniqueId) {
-    int dotIndex = uniqueId.indexOf(".");
-    return dotIndex >= 0 ? uniqueId.substring(0, dotIndex) : uniqueId;
-  }
-
-  private Optional<RunnerAndConfigurationSettings> findConfigurationByName(
-    List<RunnerAndConfigurationSettings> settings,
-    String name
-  ) {
-    return settings
-      .stream()
-      .filter(s -> s.getName().equals(name))
-      .findFirst();
+    return RunConfigurationModel.extractConfigType(uniqueId);
   }
 
   public abstract Executor getExecutor();
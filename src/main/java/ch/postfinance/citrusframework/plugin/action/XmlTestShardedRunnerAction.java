@@ -0,0 +1,27 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import ch.postfinance.citrusframework.plugin.settings.CitrusSettings;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+
+/**
+ * This action runs (Run) citrus tests selected by the user in parallel shards,
+ * each shard in its own copy of the selected run configuration.
+ */
+public class XmlTestShardedRunnerAction extends XmlTestRunnerAction {
+
+  @Override
+  protected void execute(
+    Project project,
+    RunnerAndConfigurationSettings selectedConfiguration,
+    TestSelection testSelection
+  ) {
+    executeSharded(
+      selectedConfiguration,
+      testSelection,
+      getExecutor(),
+      CitrusSettings.getInstance(project).getShardCount()
+    );
+  }
+}
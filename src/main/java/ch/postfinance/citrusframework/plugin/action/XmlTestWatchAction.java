@@ -0,0 +1,63 @@
+package ch.postfinance.citrusframework.plugin.action;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.execution.CitrusWatchService;
+import ch.postfinance.citrusframework.plugin.listener.CitrusTestStatusListener;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Toggles the watch mode, re-running the tests affected by saved XML files
+ * through the last run configuration used by the plugin.
+ */
+public class XmlTestWatchAction extends ToggleAction {
+
+  private static final String NO_LAST_LAUNCH_MESSAGE =
+    "Run XML tests once, watch mode re-runs the affected tests with the same run configuration.";
+
+  @Override
+  public @NotNull ActionUpdateThread getActionUpdateThread() {
+    return ActionUpdateThread.BGT;
+  }
+
+  @Override
+  public boolean isSelected(@NotNull AnActionEvent anActionEvent) {
+    Project project = anActionEvent.getProject();
+    return (
+      nonNull(project) && CitrusWatchService.getInstance(project).isEnabled()
+    );
+  }
+
+  @Override
+  public void setSelected(@NotNull AnActionEvent anActionEvent, boolean state) {
+    Project project = anActionEvent.getProject();
+    if (nonNull(project)) {
+      CitrusWatchService watchService = CitrusWatchService.getInstance(project);
+      watchService.setEnabled(state);
+      if (state && !watchService.hasLastLaunch()) {
+        NotificationGroupManager.getInstance()
+          .getNotificationGroup(CitrusTestStatusListener.NOTIFICATION_GROUP)
+          .createNotification(
+            "Citrus watch",
+            NO_LAST_LAUNCH_MESSAGE,
+            NotificationType.INFORMATION
+          )
+          .notify(project);
+      }
+    }
+  }
+
+  @Override
+  public void update(@NotNull AnActionEvent anActionEvent) {
+    super.update(anActionEvent);
+    anActionEvent
+      .getPresentation()
+      .setEnabledAndVisible(nonNull(anActionEvent.getProject()));
+  }
+}
@@ -0,0 +1,251 @@
+package ch.postfinance.citrusframework.plugin.daemon;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.daemon.DaemonProtocol.DaemonResult;
+import ch.postfinance.citrusframework.plugin.execution.FastRelaunchTracker;
+import ch.postfinance.citrusframework.plugin.execution.TestsToRunEncoder;
+import ch.postfinance.citrusframework.plugin.listener.CitrusTestStatusListener;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.execution.Executor;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.task.ProjectTaskManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Daemon mode: a runner process started once from the selected run configuration and kept alive,
+ * so that later selections are sent to it over the {@link DaemonProtocol} instead of paying the JVM,
+ * Spring context and endpoint startup again. The runner is recycled when the configuration, the
+ * executor or the classpath changes: a change of the project roots, or of any file but XML test
+ * resources, which are copied before every request instead.
+ */
+@Service(Service.Level.PROJECT)
+public final class CitrusDaemon {
+
+  private static final Logger LOG = Logger.getInstance(CitrusDaemon.class);
+  private static final String TITLE = "Citrus daemon";
+  private static final int RESOURCE_COPY_TIMEOUT_MINUTES = 5;
+
+  private final Project project;
+  private int port;
+  private @Nullable RunnerAndConfigurationSettings sourceConfiguration;
+  private @Nullable String executorId;
+  private @Nullable ProcessHandler processHandler;
+  private long rootsModificationCount;
+  private boolean otherFilesChanged;
+
+  public CitrusDaemon(Project project) {
+    this.project = project;
+  }
+
+  public static CitrusDaemon getInstance(Project project) {
+    return project.getService(CitrusDaemon.class);
+  }
+
+  /**
+   * @return the loopback port of the runner, chosen once per session, so that the prepared
+   * configuration copy of the runner can be reused
+   */
+  public synchronized int getPort() {
+    if (port == 0) {
+      try (
+        ServerSocket serverSocket = new ServerSocket(
+          0,
+          1,
+          InetAddress.getLoopbackAddress()
+        )
+      ) {
+        port = serverSocket.getLocalPort();
+      } catch (IOException e) {
+        throw new UncheckedIOException("No free port for the daemon", e);
+      }
+    }
+    return port;
+  }
+
+  /**
+   * @return true if the runner is alive, was started from the configuration with the executor,
+   * and the classpath did not change since
+   */
+  public synchronized boolean isReusable(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    Executor executor
+  ) {
+    return (
+      nonNull(processHandler) &&
+      !processHandler.isProcessTerminated() &&
+      selectedConfiguration == sourceConfiguration &&
+      executor.getId().equals(executorId) &&
+      rootsModificationCount ==
+        ProjectRootManager.getInstance(project).getModificationCount() &&
+      !otherFilesChanged
+    );
+  }
+
+  /**
+   * Stops the current runner before a new one is launched from the configuration
+   */
+  public synchronized void starting(
+    RunnerAndConfigurationSettings selectedConfiguration,
+    Executor executor
+  ) {
+    stop();
+    sourceConfiguration = selectedConfiguration;
+    executorId = executor.getId();
+    rootsModificationCount =
+      ProjectRootManager.getInstance(project).getModificationCount();
+    // The build of the new runner compiles the changes so far
+    otherFilesChanged = false;
+  }
+
+  /**
+   * A file but an XML test resource changed, the runner keeps running the classes it was started
+   * with. Tracked apart from the {@link FastRelaunchTracker}, which every launch of the plugin resets.
+   */
+  public synchronized void otherFileChanged() {
+    otherFilesChanged = true;
+  }
+
+  public synchronized void started(ProcessHandler handler) {
+    processHandler = handler;
+  }
+
+  public synchronized void terminated(ProcessHandler handler) {
+    if (handler == processHandler) {
+      processHandler = null;
+      sourceConfiguration = null;
+    }
+  }
+
+  /**
+   * Asks the runner to shut down and terminates its process
+   */
+  public synchronized void stop() {
+    ProcessHandler handler = processHandler;
+    processHandler = null;
+    sourceConfiguration = null;
+    if (isNull(handler) || handler.isProcessTerminated()) {
+      return;
+    }
+
+    int daemonPort = port;
+    ApplicationManager.getApplication()
+      .executeOnPooledThread(() -> {
+        try {
+          DaemonClient.stop(daemonPort);
+        } catch (IOException e) {
+          LOG.debug("The daemon did not accept the stop request", e);
+        }
+        handler.destroyProcess();
+      });
+  }
+
+  /**
+   * Runs the tests in the runner, in a background task. The XML test resources changed since the last
+   * run are copied to the output folder first. The result is shown in a notification.
+   */
+  public void run(TestSelection testSelection) {
+    new Task.Backgroundable(project, "Running citrus XML tests in the daemon") {
+      private @Nullable DaemonResult result;
+      private @Nullable String error;
+
+      @Override
+      public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        TestsToRunEncoder.Encoding testsToRun = null;
+        try {
+          copyChangedTestResources();
+          testsToRun = TestsToRunEncoder.encode(testSelection);
+          result = DaemonClient.run(
+            getPort(),
+            testsToRun.vmParameter(),
+            indicator
+          );
+        } catch (IOException e) {
+          error = e.getMessage();
+        } finally {
+          if (nonNull(testsToRun)) {
+            TestsToRunEncoder.deleteSelectionFile(testsToRun.selectionFile());
+          }
+        }
+      }
+
+      @Override
+      public void onSuccess() {
+        if (nonNull(result)) {
+          notify(
+            result.tests() +
+              " tests, " +
+              result.failed() +
+              " failed, " +
+              result.ignored() +
+              " ignored",
+            result.failed() > 0
+              ? NotificationType.ERROR
+              : NotificationType.INFORMATION
+          );
+        } else {
+          notify(
+            "The tests could not be run in the daemon: " + error,
+            NotificationType.ERROR
+          );
+        }
+      }
+
+      private void notify(String content, NotificationType type) {
+        NotificationGroupManager.getInstance()
+          .getNotificationGroup(CitrusTestStatusListener.NOTIFICATION_GROUP)
+          .createNotification(TITLE, content, type)
+          .notify(project);
+      }
+    }.queue();
+  }
+
+  private void copyChangedTestResources() throws IOException {
+    FastRelaunchTracker tracker = FastRelaunchTracker.getInstance(project);
+    long generation = tracker.getGeneration();
+    List<VirtualFile> changedTestResources =
+      tracker.getTestResourceOnlyChanges();
+    if (isNull(changedTestResources)) {
+      // Left to the next build, the runner is recycled on such changes anyway
+      return;
+    }
+    if (!changedTestResources.isEmpty()) {
+      ProjectTaskManager.Result copyResult;
+      try {
+        copyResult = ProjectTaskManager.getInstance(project)
+          .compile(changedTestResources.toArray(VirtualFile.EMPTY_ARRAY))
+          .blockingGet(RESOURCE_COPY_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+      } catch (TimeoutException | ExecutionException e) {
+        throw new IOException("The changed test resources were not copied", e);
+      }
+      if (
+        isNull(copyResult) || copyResult.hasErrors() || copyResult.isAborted()
+      ) {
+        throw new IOException("The changed test resources were not copied");
+      }
+    }
+    tracker.launchSucceeded(generation);
+  }
+}
@@ -0,0 +1,109 @@
+package ch.postfinance.citrusframework.plugin.daemon;
+
+import ch.postfinance.citrusframework.plugin.daemon.DaemonProtocol.DaemonResult;
+import com.intellij.openapi.progress.ProgressIndicator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sends the requests of the {@link DaemonProtocol} to a runner listening on a loopback port
+ */
+final class DaemonClient {
+
+  private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+  private static final int CANCEL_CHECK_MILLIS = 500;
+
+  private DaemonClient() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * Runs the tests and waits for them to finish. The socket is closed when the indicator is
+   * cancelled, the runner then finishes the tests on its own.
+   *
+   * @param port       the port of the runner
+   * @param testsToRun the VM parameter selecting the tests
+   * @param indicator  the indicator checked for cancellation while waiting
+   * @return the result of the run
+   * @throws IOException if the runner is not reachable or reported an error
+   */
+  static DaemonResult run(
+    int port,
+    String testsToRun,
+    ProgressIndicator indicator
+  ) throws IOException {
+    try (Socket socket = connect(port)) {
+      send(socket, DaemonProtocol.runRequest(testsToRun));
+      socket.setSoTimeout(CANCEL_CHECK_MILLIS);
+      return DaemonProtocol.parseResponse(
+        readLine(socket.getInputStream(), indicator)
+      );
+    }
+  }
+
+  /**
+   * Reads the response line byte by byte, as a read timeout would lose the part of the line
+   * buffered by a {@link java.io.BufferedReader}
+   */
+  private static @Nullable String readLine(
+    InputStream input,
+    ProgressIndicator indicator
+  ) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    while (true) {
+      int read;
+      try {
+        read = input.read();
+      } catch (SocketTimeoutException e) {
+        indicator.checkCanceled();
+        continue;
+      }
+      if (read == '\n' || (read == -1 && line.size() > 0)) {
+        return line.toString(StandardCharsets.UTF_8).stripTrailing();
+      }
+      if (read == -1) {
+        return null;
+      }
+      line.write(read);
+    }
+  }
+
+  static void stop(int port) throws IOException {
+    try (Socket socket = connect(port)) {
+      send(socket, DaemonProtocol.STOP);
+    }
+  }
+
+  private static Socket connect(int port) throws IOException {
+    Socket socket = new Socket();
+    try {
+      socket.connect(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+        CONNECT_TIMEOUT_MILLIS
+      );
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+    return socket;
+  }
+
+  private static void send(Socket socket, String request) throws IOException {
+    Writer writer = new OutputStreamWriter(
+      socket.getOutputStream(),
+      StandardCharsets.UTF_8
+    );
+    writer.write(request);
+    writer.write('\n');
+    writer.flush();
+  }
+}
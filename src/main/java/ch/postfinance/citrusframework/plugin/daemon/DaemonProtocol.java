@@ -0,0 +1,86 @@
+package ch.postfinance.citrusframework.plugin.daemon;
+
+import static java.util.Objects.isNull;
+
+import java.io.IOException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Line based protocol between the plugin and a runner process kept alive in daemon mode.
+ * The runner listens on the loopback port passed as {@code -Dcitrus.daemon.port}. For every selection,
+ * the plugin connects and sends one request line, and the runner answers with one response line
+ * once the tests finished:
+ * <ul>
+ *   <li>{@code RUN -Dtests.to.run=*MyTest*,*OtherTest*}: runs the tests, the selection is encoded like
+ *   the VM parameter of a regular run, see {@link ch.postfinance.citrusframework.plugin.execution.TestsToRunEncoder}</li>
+ *   <li>{@code STOP}: shuts the runner down, no response</li>
+ *   <li>{@code DONE <tests> <failed> <ignored>}: the tests finished</li>
+ *   <li>{@code ERROR <message>}: the tests could not be run</li>
+ * </ul>
+ */
+public final class DaemonProtocol {
+
+  public static final String DAEMON_PORT = "-Dcitrus.daemon.port=";
+
+  static final String RUN = "RUN ";
+  static final String STOP = "STOP";
+  static final String DONE = "DONE ";
+  static final String ERROR = "ERROR ";
+
+  private DaemonProtocol() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param tests   the number of tests run
+   * @param failed  the number of failed tests
+   * @param ignored the number of ignored tests
+   */
+  public record DaemonResult(int tests, int failed, int ignored) {}
+
+  /**
+   * @param testsToRun the VM parameter selecting the tests, quoted if it contains a space
+   * @return the request line, without the quotes only needed on a command line
+   */
+  static String runRequest(String testsToRun) {
+    boolean quoted =
+      testsToRun.length() > 1 &&
+      testsToRun.startsWith("\"") &&
+      testsToRun.endsWith("\"");
+    return (
+      RUN +
+      (quoted ? testsToRun.substring(1, testsToRun.length() - 1) : testsToRun)
+    );
+  }
+
+  /**
+   * @param response the response line, null if the runner closed the connection
+   * @return the result of the run
+   * @throws IOException if the runner reported an error or the response is malformed
+   */
+  static DaemonResult parseResponse(@Nullable String response)
+    throws IOException {
+    if (isNull(response)) {
+      throw new IOException("The daemon closed the connection");
+    }
+    if (response.startsWith(ERROR)) {
+      throw new IOException(response.substring(ERROR.length()));
+    }
+
+    String[] counts = response.startsWith(DONE)
+      ? response.substring(DONE.length()).trim().split(" ")
+      : new String[0];
+    if (counts.length != 3) {
+      throw new IOException("Unexpected daemon response: " + response);
+    }
+    try {
+      return new DaemonResult(
+        Integer.parseInt(counts[0]),
+        Integer.parseInt(counts[1]),
+        Integer.parseInt(counts[2])
+      );
+    } catch (NumberFormatException e) {
+      throw new IOException("Unexpected daemon response: " + response, e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package ch.postfinance.citrusframework.plugin.diagnostics;
+
+/**
+ * The timed phases of running citrus tests with the plugin
+ */
+public enum Phase {
+  UPDATE("update() visibility check"),
+  DISCOVERY("Test discovery"),
+  VALIDATION("Pre-flight validation"),
+  CONFIGURATION_COPY("Configuration copy"),
+  BEFORE_RUN_BUILD("Before run tasks (build)"),
+  PROCESS_START("Process start");
+
+  private final String displayName;
+
+  Phase(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+}
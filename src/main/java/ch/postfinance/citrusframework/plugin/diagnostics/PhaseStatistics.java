@@ -0,0 +1,46 @@
+package ch.postfinance.citrusframework.plugin.diagnostics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free counters of a phase, as the update() check is recorded concurrently on every
+ * context menu and toolbar refresh
+ */
+final class PhaseStatistics {
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder items = new LongAdder();
+
+  void record(long nanos, int recordedItems) {
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+    items.add(recordedItems);
+  }
+
+  long getCount() {
+    return count.sum();
+  }
+
+  long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  long getItems() {
+    return items.sum();
+  }
+
+  void reset() {
+    count.reset();
+    totalNanos.reset();
+    maxNanos.reset();
+    items.reset();
+  }
+}
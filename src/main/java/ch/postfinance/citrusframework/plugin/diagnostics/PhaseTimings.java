@@ -0,0 +1,95 @@
+package ch.postfinance.citrusframework.plugin.diagnostics;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters of the phases of the plugin actions, from the visibility check of the
+ * actions to the start of the test process. Slow update() checks are logged, as they delay
+ * every menu and toolbar of the IDE.
+ */
+@Service(Service.Level.APP)
+public final class PhaseTimings {
+
+  static final long SLOW_UPDATE_MILLIS = 50;
+
+  private static final Logger LOG = Logger.getInstance(PhaseTimings.class);
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Map<Phase, PhaseStatistics> statistics = new EnumMap<>(
+    Phase.class
+  );
+
+  public PhaseTimings() {
+    for (Phase phase : Phase.values()) {
+      statistics.put(phase, new PhaseStatistics());
+    }
+  }
+
+  public static PhaseTimings getInstance() {
+    return ApplicationManager.getApplication().getService(PhaseTimings.class);
+  }
+
+  /**
+   * @param phase      the phase
+   * @param startNanos the {@link System#nanoTime()} the phase started at
+   * @param items      the number of items handled, e.g. the selected files or the discovered tests
+   */
+  public void record(Phase phase, long startNanos, int items) {
+    long nanos = System.nanoTime() - startNanos;
+    statistics.get(phase).record(nanos, items);
+    if (
+      phase == Phase.UPDATE &&
+      TimeUnit.NANOSECONDS.toMillis(nanos) > SLOW_UPDATE_MILLIS
+    ) {
+      LOG.warn(
+        "Slow update() of a citrus action: " +
+          TimeUnit.NANOSECONDS.toMillis(nanos) +
+          " ms for " +
+          items +
+          " selected files"
+      );
+    }
+  }
+
+  public void reset() {
+    statistics.values().forEach(PhaseStatistics::reset);
+  }
+
+  /**
+   * @return a table with the count, the average and maximum duration and the items of every phase
+   */
+  public String dump() {
+    StringBuilder dump = new StringBuilder(
+      String.format(
+        "%-28s %8s %10s %10s %10s%n",
+        "Phase",
+        "Count",
+        "Avg ms",
+        "Max ms",
+        "Items"
+      )
+    );
+    for (Phase phase : Phase.values()) {
+      PhaseStatistics phaseStatistics = statistics.get(phase);
+      long count = phaseStatistics.getCount();
+      dump.append(
+        String.format(
+          "%-28s %8d %10.1f %10.1f %10d%n",
+          phase.getDisplayName(),
+          count,
+          count == 0
+            ? 0.0
+            : phaseStatistics.getTotalNanos() / NANOS_PER_MILLI / count,
+          phaseStatistics.getMaxNanos() / NANOS_PER_MILLI,
+          phaseStatistics.getItems()
+        )
+      );
+    }
+    return dump.toString();
+  }
+}
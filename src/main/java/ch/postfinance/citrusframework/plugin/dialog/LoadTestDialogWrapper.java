@@ -0,0 +1,89 @@
+package ch.postfinance.citrusframework.plugin.dialog;
+
+import ch.postfinance.citrusframework.plugin.load.LoadProfile;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.util.Consumer;
+import com.intellij.util.ui.FormBuilder;
+import javax.swing.*;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Dialog asking how the selected citrus tests are repeated by a load test
+ */
+public class LoadTestDialogWrapper extends DialogWrapper {
+
+  private static final String RUN_AS_LOAD_TEST = "Run as Load Test";
+  private static final int MAX_ITERATIONS = 1_000_000;
+  private static final int MAX_DURATION_SECONDS = 7 * 24 * 3600;
+  private static final int MAX_CONCURRENCY = 1_024;
+
+  private final JSpinner iterationsSpinner;
+  private final JSpinner durationSpinner;
+  private final JSpinner concurrencySpinner;
+
+  public LoadTestDialogWrapper(LoadProfile loadProfile) {
+    super(true);
+    this.iterationsSpinner = new JSpinner(
+      new SpinnerNumberModel(
+        Math.max(1, loadProfile.iterations()),
+        1,
+        MAX_ITERATIONS,
+        1
+      )
+    );
+    this.durationSpinner = new JSpinner(
+      new SpinnerNumberModel(
+        loadProfile.durationSeconds(),
+        0,
+        MAX_DURATION_SECONDS,
+        60
+      )
+    );
+    this.concurrencySpinner = new JSpinner(
+      new SpinnerNumberModel(
+        Math.max(1, loadProfile.concurrency()),
+        1,
+        MAX_CONCURRENCY,
+        1
+      )
+    );
+    init();
+    setTitle(RUN_AS_LOAD_TEST);
+  }
+
+  @Nullable
+  @Override
+  protected JComponent createCenterPanel() {
+    return FormBuilder.createFormBuilder()
+      .addLabeledComponent("Iterations per worker:", iterationsSpinner)
+      .addLabeledComponent(
+        "Duration in seconds (0 = run the iterations):",
+        durationSpinner
+      )
+      .addLabeledComponent("Concurrent workers:", concurrencySpinner)
+      .getPanel();
+  }
+
+  @Override
+  public @Nullable JComponent getPreferredFocusedComponent() {
+    return iterationsSpinner;
+  }
+
+  /**
+   * Show the dialog and execute the callback with the
+   * entered load profile if the user click the Ok button
+   *
+   * @param callback the callback
+   */
+  public void show(Consumer<LoadProfile> callback) {
+    if (showAndGet()) {
+      callback.consume(
+        new LoadProfile(
+          (int) iterationsSpinner.getValue(),
+          (int) durationSpinner.getValue(),
+          (int) concurrencySpinner.getValue()
+        )
+      );
+    }
+  }
+}
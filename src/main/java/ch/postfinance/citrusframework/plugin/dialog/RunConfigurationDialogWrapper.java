@@ -4,9 +4,10 @@ import ch.postfinance.citrusframework.plugin.model.RunConfig;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.openapi.ui.LabeledComponent;
+import com.intellij.ui.ScrollPaneFactory;
 import com.intellij.ui.SimpleListCellRenderer;
-import com.intellij.ui.ToolbarDecorator;
 import com.intellij.ui.components.JBList;
+import com.intellij.ui.speedSearch.ListWithFilter;
 import com.intellij.util.Consumer;
 import icons.OpenapiIcons;
 import java.util.HashMap;
@@ -30,7 +31,8 @@ public class RunConfigurationDialogWrapper extends DialogWrapper {
 
   private static final String RUN_DEBUG_CONFIGURATIONS =
     "Run/Debug Configurations";
-  private static final String SELECT_A_CONFIGURATION = "Select a configuration";
+  private static final String SELECT_CONFIGURATIONS =
+    "Select one or more configurations";
   private final JBList<RunConfig> runConfigDescriptorJBList;
 
   public RunConfigurationDialogWrapper(List<RunConfig> runConfigs) {
@@ -44,7 +46,7 @@ public class RunConfigurationDialogWrapper extends DialogWrapper {
   @Override
   protected JComponent createCenterPanel() {
     runConfigDescriptorJBList.setSelectionMode(
-      ListSelectionModel.SINGLE_SELECTION
+      ListSelectionModel.MULTIPLE_INTERVAL_SELECTION
     );
     runConfigDescriptorJBList.setCellRenderer(
       SimpleListCellRenderer.create((label, runConfig, index) -> {
@@ -53,40 +55,33 @@ public class RunConfigurationDialogWrapper extends DialogWrapper {
       })
     );
 
-    ToolbarDecorator decorator = createToolbarDecorator(
-      runConfigDescriptorJBList
-    );
-    return LabeledComponent.create(
-      decorator.createPanel(),
-      SELECT_A_CONFIGURATION
+    // Typing filters the list with the same fuzzy matching as the other choosers of the IDE
+    JComponent filteredList = ListWithFilter.wrap(
+      runConfigDescriptorJBList,
+      ScrollPaneFactory.createScrollPane(runConfigDescriptorJBList),
+      RunConfig::getName
     );
+    return LabeledComponent.create(filteredList, SELECT_CONFIGURATIONS);
+  }
+
+  @Override
+  public @Nullable JComponent getPreferredFocusedComponent() {
+    return runConfigDescriptorJBList;
   }
 
   /**
    * Show the dialog and execute the callback returning the
-   * selected run configuration if the user click the Ok button
+   * selected run configurations if the user click the Ok button
    *
    * @param callback the callback
    */
-  public void show(Consumer<RunConfig> callback) {
+  public void show(Consumer<List<RunConfig>> callback) {
     if (showAndGet()) {
-      RunConfig selected = runConfigDescriptorJBList.getSelectedValue();
-      if (selected != null) {
+      List<RunConfig> selected =
+        runConfigDescriptorJBList.getSelectedValuesList();
+      if (!selected.isEmpty()) {
         callback.consume(selected);
       }
     }
   }
-
-  private ToolbarDecorator createToolbarDecorator(
-    JBList<RunConfig> virtualFileJBList
-  ) {
-    ToolbarDecorator decorator = ToolbarDecorator.createDecorator(
-      virtualFileJBList
-    );
-    decorator.disableAddAction();
-    decorator.disableRemoveAction();
-    decorator.disableDownAction();
-    decorator.disableUpAction();
-    return decorator;
-  }
 }
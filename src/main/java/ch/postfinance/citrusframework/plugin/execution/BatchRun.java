@@ -0,0 +1,119 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Launches the same tests against several run configurations, at most a given number at a time,
+ * and collects the test results per configuration
+ */
+public class BatchRun {
+
+  private static final String RUNNING = "running";
+
+  private final int concurrencyLimit;
+  private final Queue<Runnable> pendingLaunches = new ArrayDeque<>();
+  private final List<String> configurationNames;
+  // Indexed like the configurations, which may share a name
+  private final String[] results;
+  private int finishedConfigurations;
+  private boolean failed;
+
+  /**
+   * @param configurationNames the names of the configurations, in launch order
+   * @param concurrencyLimit   the maximum number of configurations running at a time
+   */
+  public BatchRun(List<String> configurationNames, int concurrencyLimit) {
+    this.concurrencyLimit = Math.max(1, concurrencyLimit);
+    this.configurationNames = List.copyOf(configurationNames);
+    this.results = new String[configurationNames.size()];
+    Arrays.fill(results, RUNNING);
+  }
+
+  /**
+   * Runs the first launches up to the concurrency limit and queues the others
+   *
+   * @param launches the launches of the configurations, in the order of their names
+   */
+  public void start(List<Runnable> launches) {
+    List<Runnable> startedLaunches;
+    synchronized (this) {
+      pendingLaunches.addAll(launches);
+      startedLaunches = new ArrayList<>(concurrencyLimit);
+      while (
+        startedLaunches.size() < concurrencyLimit && !pendingLaunches.isEmpty()
+      ) {
+        startedLaunches.add(pendingLaunches.poll());
+      }
+    }
+    startedLaunches.forEach(Runnable::run);
+  }
+
+  /**
+   * Frees the slot of a terminated or not started process
+   *
+   * @return the next launch to run, null if none is pending
+   */
+  public synchronized @Nullable Runnable launchFinished() {
+    return pendingLaunches.poll();
+  }
+
+  /**
+   * @param configurationIndex the index of the configuration, in launch order
+   * @return true if this was the last configuration to finish
+   */
+  public synchronized boolean configurationFinished(
+    int configurationIndex,
+    int tests,
+    int failedTests,
+    int ignoredTests
+  ) {
+    failed |= failedTests > 0;
+    return finished(
+      configurationIndex,
+      String.format(
+        "%d tests, %d failed, %d ignored",
+        tests,
+        failedTests,
+        ignoredTests
+      )
+    );
+  }
+
+  /**
+   * @param configurationIndex the index of the configuration, in launch order
+   * @return true if this was the last configuration to finish
+   */
+  public synchronized boolean configurationNotStarted(int configurationIndex) {
+    failed = true;
+    return finished(configurationIndex, "not started");
+  }
+
+  public synchronized boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * @return one line per configuration with its test results, separated by {@code <br>}
+   */
+  public synchronized String getSummary() {
+    List<String> lines = new ArrayList<>(results.length);
+    for (int i = 0; i < results.length; i++) {
+      lines.add(configurationNames.get(i) + ": " + results[i]);
+    }
+    return String.join("<br>", lines);
+  }
+
+  private boolean finished(int configurationIndex, String result) {
+    // Counts every configuration once, even if it reports both a failed start and results
+    if (!RUNNING.equals(results[configurationIndex])) {
+      return false;
+    }
+    results[configurationIndex] = result;
+    return ++finishedConfigurations == results.length;
+  }
+}
@@ -0,0 +1,241 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.load.LoadRun;
+import ch.postfinance.citrusframework.plugin.profiling.TestInterval;
+import com.intellij.openapi.util.Key;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A run launched by the plugin. It is attached to the execution environment of the launch,
+ * so that the listeners can recognize the processes and test results of the plugin.
+ */
+public class CitrusRun {
+
+  public static final Key<CitrusRun> KEY = Key.create(
+    "ch.postfinance.citrusframework.plugin.CitrusRun"
+  );
+
+  private final String name;
+  private final ShardedRun shardedRun;
+  private final BatchRun batchRun;
+  private final int batchIndex;
+  private final boolean daemon;
+  private final Path jfrRecording;
+  private final LoadRun loadRun;
+  private final Map<String, Long> testStartMillis = new ConcurrentHashMap<>();
+  private final List<TestInterval> testIntervals =
+    Collections.synchronizedList(new ArrayList<>());
+  private volatile long phaseStartNanos;
+  private volatile String currentTest;
+  private volatile Path selectionFile;
+  private volatile Long buildGeneration;
+  private final AtomicReference<Runnable> nextLaunch = new AtomicReference<>();
+
+  public CitrusRun(String name, @Nullable ShardedRun shardedRun) {
+    this(name, shardedRun, false);
+  }
+
+  public CitrusRun(
+    String name,
+    @Nullable ShardedRun shardedRun,
+    boolean daemon
+  ) {
+    this(name, shardedRun, null, 0, daemon, null, null);
+  }
+
+  /**
+   * @param batchIndex the index of the configuration in the batch run, as configurations
+   *                   may share a name
+   */
+  public CitrusRun(String name, BatchRun batchRun, int batchIndex) {
+    this(name, null, batchRun, batchIndex, false, null, null);
+  }
+
+  private CitrusRun(
+    String name,
+    @Nullable ShardedRun shardedRun,
+    @Nullable BatchRun batchRun,
+    int batchIndex,
+    boolean daemon,
+    @Nullable Path jfrRecording,
+    @Nullable LoadRun loadRun
+  ) {
+    this.name = name;
+    this.shardedRun = shardedRun;
+    this.batchRun = batchRun;
+    this.batchIndex = batchIndex;
+    this.daemon = daemon;
+    this.jfrRecording = jfrRecording;
+    this.loadRun = loadRun;
+  }
+
+  /**
+   * @param jfrRecording the file the flight recording of the run is written to
+   * @return the same run, profiled with Java Flight Recorder
+   */
+  public CitrusRun profiled(Path jfrRecording) {
+    return new CitrusRun(
+      name,
+      shardedRun,
+      batchRun,
+      batchIndex,
+      daemon,
+      jfrRecording,
+      loadRun
+    );
+  }
+
+  /**
+   * @param loadRun collects the executions of the repeated tests
+   * @return the same run, repeating its tests as a load test
+   */
+  public CitrusRun loadTest(LoadRun loadRun) {
+    return new CitrusRun(
+      name,
+      shardedRun,
+      batchRun,
+      batchIndex,
+      daemon,
+      jfrRecording,
+      loadRun
+    );
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the sharded run this run is a shard of, null if not sharded
+   */
+  public @Nullable ShardedRun getShardedRun() {
+    return shardedRun;
+  }
+
+  /**
+   * @return the batch run this run is one configuration of, null if not part of a batch
+   */
+  public @Nullable BatchRun getBatchRun() {
+    return batchRun;
+  }
+
+  /**
+   * @return the index of the configuration of the run in its batch run
+   */
+  public int getBatchIndex() {
+    return batchIndex;
+  }
+
+  /**
+   * @return true if the run starts the runner of the daemon mode
+   */
+  public boolean isDaemon() {
+    return daemon;
+  }
+
+  /**
+   * @return the flight recording file of a profiled run, null if not profiled
+   */
+  public @Nullable Path getJfrRecording() {
+    return jfrRecording;
+  }
+
+  /**
+   * @return the executions of a load test, null if the run is no load test
+   */
+  public @Nullable LoadRun getLoadRun() {
+    return loadRun;
+  }
+
+  public void testStarted(String testName) {
+    currentTest = testName;
+    if (nonNull(jfrRecording)) {
+      testStartMillis.put(testName, System.currentTimeMillis());
+    }
+  }
+
+  public void testFinished(String testName) {
+    if (testName.equals(currentTest)) {
+      currentTest = null;
+    }
+    Long startMillis = testStartMillis.remove(testName);
+    if (nonNull(startMillis)) {
+      testIntervals.add(
+        new TestInterval(testName, startMillis, System.currentTimeMillis())
+      );
+    }
+  }
+
+  /**
+   * @return the intervals the finished tests of a profiled run ran in
+   */
+  public List<TestInterval> getTestIntervals() {
+    synchronized (testIntervals) {
+      return List.copyOf(testIntervals);
+    }
+  }
+
+  /**
+   * @return the file the tests of the run are passed in, null if passed on the command line
+   */
+  public @Nullable Path getSelectionFile() {
+    return selectionFile;
+  }
+
+  public void setSelectionFile(@Nullable Path selectionFile) {
+    this.selectionFile = selectionFile;
+  }
+
+  /**
+   * @return the generation of the file changes when the build of the run started,
+   * null if the run was launched without build, see {@link FastRelaunchTracker}
+   */
+  public @Nullable Long getBuildGeneration() {
+    return buildGeneration;
+  }
+
+  public void setBuildGeneration(long buildGeneration) {
+    this.buildGeneration = buildGeneration;
+  }
+
+  /**
+   * @param nextLaunch the launch to run once the process of this run terminated
+   */
+  public void setNextLaunch(Runnable nextLaunch) {
+    this.nextLaunch.set(nextLaunch);
+  }
+
+  /**
+   * @return the launch to run after this run, null if none or already taken
+   */
+  public @Nullable Runnable takeNextLaunch() {
+    return nextLaunch.getAndSet(null);
+  }
+
+  /**
+   * @return the test running in the process of the run, null between tests
+   */
+  public @Nullable String getCurrentTest() {
+    return currentTest;
+  }
+
+  /**
+   * @return the {@link System#nanoTime()} the current launch phase started at
+   */
+  public long getPhaseStartNanos() {
+    return phaseStartNanos;
+  }
+
+  public void startPhase() {
+    phaseStartNanos = System.nanoTime();
+  }
+}
@@ -0,0 +1,34 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of the processes started for runs of the plugin, so that test events
+ * can be attributed to their run. Weakly keyed, as not every process reports test events.
+ */
+@Service(Service.Level.PROJECT)
+public final class CitrusRunTracker {
+
+  private final Map<ProcessHandler, CitrusRun> runs =
+    Collections.synchronizedMap(new WeakHashMap<>());
+
+  public static CitrusRunTracker getInstance(Project project) {
+    return project.getService(CitrusRunTracker.class);
+  }
+
+  public void processStarted(ProcessHandler processHandler, CitrusRun run) {
+    runs.put(processHandler, run);
+  }
+
+  public @Nullable CitrusRun getRun(@Nullable ProcessHandler processHandler) {
+    return isNull(processHandler) ? null : runs.get(processHandler);
+  }
+}
@@ -0,0 +1,123 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static java.util.Objects.isNull;
+
+import ch.postfinance.citrusframework.plugin.index.AffectedTestFinder;
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Alarm;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Watch mode: re-runs the tests affected by saved XML files through the last launch of the plugin.
+ * Bursts of changes, e.g. a save all or a VCS update, are debounced into a single run.
+ */
+@Service(Service.Level.PROJECT)
+public final class CitrusWatchService implements Disposable {
+
+  static final int DEBOUNCE_MILLIS = 500;
+
+  private final Project project;
+  private final Alarm alarm;
+  private final Set<VirtualFile> changedFiles = new HashSet<>();
+  private volatile boolean enabled;
+  private volatile @Nullable Consumer<TestSelection> lastLaunch;
+
+  public CitrusWatchService(Project project) {
+    this.project = project;
+    this.alarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+  }
+
+  public static CitrusWatchService getInstance(Project project) {
+    return project.getService(CitrusWatchService.class);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (!enabled) {
+      alarm.cancelAllRequests();
+      synchronized (changedFiles) {
+        changedFiles.clear();
+      }
+    }
+  }
+
+  public boolean hasLastLaunch() {
+    return lastLaunch != null;
+  }
+
+  /**
+   * @param relaunch launches a test selection the same way as the last launch of the plugin,
+   *                 i.e. with the same run configuration and executor
+   */
+  public void launched(Consumer<TestSelection> relaunch) {
+    lastLaunch = relaunch;
+  }
+
+  /**
+   * Schedules the re-run of the tests affected by the changed XML file, once no other change
+   * followed for {@value #DEBOUNCE_MILLIS} ms.
+   */
+  public void xmlFileChanged(VirtualFile file) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (changedFiles) {
+      changedFiles.add(file);
+    }
+    alarm.cancelAllRequests();
+    alarm.addRequest(this::relaunchAffectedTests, DEBOUNCE_MILLIS);
+  }
+
+  private void relaunchAffectedTests() {
+    List<VirtualFile> files;
+    synchronized (changedFiles) {
+      files = new ArrayList<>(changedFiles);
+      changedFiles.clear();
+    }
+    Consumer<TestSelection> relaunch = lastLaunch;
+    if (!enabled || isNull(relaunch) || files.isEmpty()) {
+      return;
+    }
+
+    List<VirtualFile> affectedTests = DumbService.getInstance(
+      project
+    ).runReadActionInSmartMode(() ->
+      AffectedTestFinder.findAffectedTests(
+        project,
+        files.stream().filter(VirtualFile::isValid).toList()
+      )
+    );
+    if (affectedTests.isEmpty()) {
+      return;
+    }
+    ApplicationManager.getApplication()
+      .invokeLater(
+        () -> {
+          if (enabled) {
+            relaunch.accept(new TestSelection(affectedTests, List.of()));
+          }
+        },
+        project.getDisposed()
+      );
+  }
+
+  @Override
+  public void dispose() {
+    // The alarm is disposed with the service
+  }
+}
@@ -0,0 +1,92 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import com.intellij.compiler.options.CompileStepBeforeRun;
+import com.intellij.compiler.options.CompileStepBeforeRunNoErrorCheck;
+import com.intellij.execution.BeforeRunTask;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks the files changed since the last successful launch of the plugin, so that a relaunch
+ * can skip the build if only XML test resources changed. The changes are reported by
+ * {@link ch.postfinance.citrusframework.plugin.listener.CitrusFileChangeListener}.
+ */
+@Service(Service.Level.PROJECT)
+public final class FastRelaunchTracker {
+
+  // The generation of the last change of every changed test resource
+  private final Map<VirtualFile, Long> changedTestResources = new HashMap<>();
+  private long generation;
+  private boolean launched;
+  private long otherFilesChangedGeneration;
+
+  public static FastRelaunchTracker getInstance(Project project) {
+    return project.getService(FastRelaunchTracker.class);
+  }
+
+  /**
+   * @return the generation of the changes so far, taken when the build of a launch starts
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * A run of the plugin has been built and started. Only the changes up to the generation its
+   * build started at are part of it, later changes still need a build.
+   *
+   * @param buildGeneration the generation when the build of the run started
+   */
+  public synchronized void launchSucceeded(long buildGeneration) {
+    launched = true;
+    if (otherFilesChangedGeneration <= buildGeneration) {
+      otherFilesChangedGeneration = 0;
+    }
+    changedTestResources
+      .values()
+      .removeIf(changeGeneration -> changeGeneration <= buildGeneration);
+  }
+
+  public synchronized void testResourceChanged(VirtualFile testResource) {
+    changedTestResources.put(testResource, ++generation);
+  }
+
+  public synchronized void otherFileChanged() {
+    otherFilesChangedGeneration = ++generation;
+  }
+
+  /**
+   * @return the XML test resources changed since the last successful launch, or null
+   * if nothing has been launched yet or other files changed, which requires a full build
+   */
+  public synchronized @Nullable List<VirtualFile> getTestResourceOnlyChanges() {
+    if (!launched || otherFilesChangedGeneration > 0) {
+      return null;
+    }
+    return List.copyOf(changedTestResources.keySet());
+  }
+
+  /**
+   * @param beforeRunTasks the before run tasks of a run configuration
+   * @return the tasks without the build steps
+   */
+  public static List<BeforeRunTask<?>> withoutBuildTasks(
+    List<BeforeRunTask<?>> beforeRunTasks
+  ) {
+    return beforeRunTasks
+      .stream()
+      .filter(
+        beforeRunTask ->
+          !CompileStepBeforeRun.ID.equals(beforeRunTask.getProviderId()) &&
+          !CompileStepBeforeRunNoErrorCheck.ID.equals(
+            beforeRunTask.getProviderId()
+          )
+      )
+      .toList();
+  }
+}
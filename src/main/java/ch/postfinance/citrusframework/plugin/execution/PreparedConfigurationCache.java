@@ -0,0 +1,76 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded LRU cache of the configuration copies prepared for a selection, so that re-running
+ * the same selection reuses the copy instead of preparing a new one. The copies are keyed by
+ * the encoded selection, so that a renamed test file gets a new copy. The cache is cleared on
+ * every change of the run configurations, see
+ * {@link ch.postfinance.citrusframework.plugin.listener.CitrusRunManagerListener}.
+ */
+@Service(Service.Level.PROJECT)
+public final class PreparedConfigurationCache {
+
+  static final int MAX_SIZE = 16;
+
+  private final Map<CacheKey, RunnerAndConfigurationSettings> preparedConfigurations =
+    new LinkedHashMap<>(MAX_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(
+        Map.Entry<CacheKey, RunnerAndConfigurationSettings> eldest
+      ) {
+        return size() > MAX_SIZE;
+      }
+    };
+
+  public static PreparedConfigurationCache getInstance(Project project) {
+    return project.getService(PreparedConfigurationCache.class);
+  }
+
+  /**
+   * @param sourceConfiguration the configuration the copy was prepared from
+   * @param name                the name of the copy
+   * @param testsToRun          the VM parameter selecting the tests
+   * @return the prepared copy, null if there is none
+   */
+  public synchronized @Nullable RunnerAndConfigurationSettings get(
+    RunnerAndConfigurationSettings sourceConfiguration,
+    String name,
+    String testsToRun
+  ) {
+    return preparedConfigurations.get(
+      new CacheKey(sourceConfiguration, name, testsToRun)
+    );
+  }
+
+  public synchronized void put(
+    RunnerAndConfigurationSettings sourceConfiguration,
+    String name,
+    String testsToRun,
+    RunnerAndConfigurationSettings preparedConfiguration
+  ) {
+    preparedConfigurations.put(
+      new CacheKey(sourceConfiguration, name, testsToRun),
+      preparedConfiguration
+    );
+  }
+
+  public synchronized void invalidate() {
+    preparedConfigurations.clear();
+  }
+
+  /**
+   * The source configuration is compared by identity
+   */
+  private record CacheKey(
+    RunnerAndConfigurationSettings sourceConfiguration,
+    String name,
+    String testsToRun
+  ) {}
+}
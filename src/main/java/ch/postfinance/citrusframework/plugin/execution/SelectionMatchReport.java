@@ -0,0 +1,117 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the test name patterns of a selection, e.g. {@code *Card_Test*}, that also match tests
+ * which were not selected, e.g. {@code Debit_Card_Test} or {@code Card_Test_Extended}
+ */
+public class SelectionMatchReport {
+
+  static final int MAX_REPORTED_PATTERNS = 10;
+
+  private final Map<String, Integer> overMatchingPatterns;
+  private final int selectedTests;
+  private final int matchedTests;
+
+  private SelectionMatchReport(
+    Map<String, Integer> overMatchingPatterns,
+    int selectedTests,
+    int matchedTests
+  ) {
+    this.overMatchingPatterns = overMatchingPatterns;
+    this.selectedTests = selectedTests;
+    this.matchedTests = matchedTests;
+  }
+
+  /**
+   * @param selectedNames the names of the selected tests, without extension
+   * @param testNames     the names of all citrus tests the patterns could match, one per test file
+   * @return the report of the patterns matching more than their own test
+   */
+  public static SelectionMatchReport of(
+    List<String> selectedNames,
+    Collection<String> testNames
+  ) {
+    int matchedTests = 0;
+    for (String testName : testNames) {
+      if (matchesAny(testName, selectedNames)) {
+        matchedTests++;
+      }
+    }
+
+    Map<String, Integer> overMatchingPatterns = new LinkedHashMap<>();
+    for (String selectedName : selectedNames) {
+      int matches = 0;
+      for (String testName : testNames) {
+        if (testName.contains(selectedName)) {
+          matches++;
+        }
+      }
+      if (matches > 1) {
+        overMatchingPatterns.put("*" + selectedName + "*", matches);
+      }
+    }
+    return new SelectionMatchReport(
+      overMatchingPatterns,
+      selectedNames.size(),
+      matchedTests
+    );
+  }
+
+  public boolean isOverMatching() {
+    return !overMatchingPatterns.isEmpty();
+  }
+
+  /**
+   * @return the number of tests the patterns match, including the selected ones
+   */
+  public int getMatchedTests() {
+    return matchedTests;
+  }
+
+  /**
+   * @return one line per over-matching pattern with the number of tests it matches
+   */
+  public String getSummary() {
+    List<String> lines = new ArrayList<>();
+    lines.add(
+      "The " +
+        selectedTests +
+        " selected tests would run " +
+        matchedTests +
+        " tests:"
+    );
+    overMatchingPatterns
+      .entrySet()
+      .stream()
+      .limit(MAX_REPORTED_PATTERNS)
+      .forEach(pattern ->
+        lines.add(pattern.getKey() + " matches " + pattern.getValue() + " tests")
+      );
+    if (overMatchingPatterns.size() > MAX_REPORTED_PATTERNS) {
+      lines.add(
+        "and " +
+          (overMatchingPatterns.size() - MAX_REPORTED_PATTERNS) +
+          " more patterns"
+      );
+    }
+    return String.join("\n", lines);
+  }
+
+  private static boolean matchesAny(
+    String testName,
+    List<String> selectedNames
+  ) {
+    for (String selectedName : selectedNames) {
+      if (testName.contains(selectedName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,113 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the shards of one sharded run and aggregates their test results. The first shard
+ * builds the project, the others are launched without build once it started.
+ */
+public class ShardedRun {
+
+  private final String name;
+  private final int shardCount;
+  private final long startedAt = System.nanoTime();
+  private final List<Runnable> pendingLaunches = new ArrayList<>();
+
+  private int finishedShards;
+  private int notStartedShards;
+  private int tests;
+  private int failedTests;
+  private int ignoredTests;
+
+  public ShardedRun(String name, int shardCount) {
+    this.name = name;
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * Runs the launch of the first shard, and keeps the others until it built the project
+   *
+   * @param firstLaunch the launch of the first shard, with the build steps
+   * @param otherLaunches the launches of the other shards, without the build steps
+   */
+  public void start(Runnable firstLaunch, List<Runnable> otherLaunches) {
+    synchronized (this) {
+      pendingLaunches.addAll(otherLaunches);
+    }
+    firstLaunch.run();
+  }
+
+  /**
+   * @return the launches of the other shards, once the before run tasks of a shard finished
+   * and its process started, an empty list afterwards
+   */
+  public synchronized List<Runnable> shardStarted() {
+    List<Runnable> launches = List.copyOf(pendingLaunches);
+    pendingLaunches.clear();
+    return launches;
+  }
+
+  /**
+   * @param tests        the number of tests the shard executed
+   * @param failedTests  the number of failed tests
+   * @param ignoredTests the number of ignored tests
+   * @return true if this was the last shard to finish
+   */
+  public synchronized boolean shardFinished(
+    int tests,
+    int failedTests,
+    int ignoredTests
+  ) {
+    this.tests += tests;
+    this.failedTests += failedTests;
+    this.ignoredTests += ignoredTests;
+    return ++finishedShards == shardCount;
+  }
+
+  /**
+   * Counts a shard that did not start as finished. If it was the first one, e.g. because its
+   * build failed, the pending shards are never launched and counted as well.
+   *
+   * @return true if this was the last shard to finish
+   */
+  public synchronized boolean shardNotStarted() {
+    int shards = 1 + pendingLaunches.size();
+    pendingLaunches.clear();
+    notStartedShards += shards;
+    finishedShards += shards;
+    return finishedShards == shardCount;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getShardCount() {
+    return shardCount;
+  }
+
+  public synchronized boolean isFailed() {
+    return failedTests > 0 || notStartedShards > 0;
+  }
+
+  public synchronized String getSummary() {
+    long seconds = TimeUnit.NANOSECONDS.toSeconds(
+      System.nanoTime() - startedAt
+    );
+    String summary = String.format(
+      "%d of %d shards finished in %dm %ds: %d tests, %d failed, %d ignored",
+      finishedShards - notStartedShards,
+      shardCount,
+      seconds / 60,
+      seconds % 60,
+      tests,
+      failedTests,
+      ignoredTests
+    );
+    return notStartedShards > 0
+      ? summary + ", " + notStartedShards + " shards not started"
+      : summary;
+  }
+}
@@ -0,0 +1,81 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Execution durations of the tests, harvested from the test results of the runs launched by the plugin.
+ * Stored in the workspace file, as they depend on the machine running the tests.
+ */
+@Service(Service.Level.PROJECT)
+@State(
+  name = "CitrusTestDurations",
+  storages = @Storage(StoragePathMacros.WORKSPACE_FILE)
+)
+public final class TestDurationHistory
+  implements PersistentStateComponent<TestDurationHistory.HistoryState>
+{
+
+  // Expected duration of every test, as long as no test has been recorded
+  private static final long DEFAULT_DURATION_MILLIS = 1_000;
+
+  private HistoryState state = new HistoryState();
+
+  public static TestDurationHistory getInstance(Project project) {
+    return project.getService(TestDurationHistory.class);
+  }
+
+  @Override
+  public synchronized @NotNull HistoryState getState() {
+    return state;
+  }
+
+  @Override
+  public synchronized void loadState(@NotNull HistoryState state) {
+    this.state = state;
+  }
+
+  /**
+   * Records a test execution, averaged with the previously recorded duration to smooth out outliers.
+   *
+   * @param testName       the test name, i.e. the test file name without extension
+   * @param durationMillis the execution duration
+   */
+  public synchronized void record(String testName, long durationMillis) {
+    state.durations.merge(testName, durationMillis, (previous, current) ->
+      (previous + current) / 2
+    );
+  }
+
+  /**
+   * @return a snapshot of the expected test durations in milliseconds. Tests without history are
+   * expected to take as long as the average recorded test.
+   */
+  public synchronized ToLongFunction<VirtualFile> getExpectedDurations() {
+    Map<String, Long> durations = new HashMap<>(state.durations);
+    long defaultDuration = durations.isEmpty()
+      ? DEFAULT_DURATION_MILLIS
+      : durations.values().stream().mapToLong(Long::longValue).sum() /
+        durations.size();
+    return testFile -> {
+      Long duration = durations.get(testFile.getNameWithoutExtension());
+      return isNull(duration) ? defaultDuration : duration;
+    };
+  }
+
+  public static class HistoryState {
+
+    public Map<String, Long> durations = new HashMap<>();
+  }
+}
@@ -0,0 +1,105 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits test files into shards that can be executed in parallel
+ */
+public final class TestSharder {
+
+  private TestSharder() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * Distributes the test files round-robin, so the shards differ by one test at most.
+   *
+   * @param testFiles  the test files
+   * @param shardCount the maximum number of shards
+   * @return the shards, never more than there are tests
+   */
+  public static List<List<VirtualFile>> shard(
+    List<VirtualFile> testFiles,
+    int shardCount
+  ) {
+    return shard(testFiles, shardCount, testFile -> 1);
+  }
+
+  /**
+   * Distributes the test files longest processing time first: the tests are sorted by their
+   * expected duration, and each is assigned to the shard with the lowest total duration so far.
+   * This minimizes the duration of the slowest shard, and every shard runs its slowest tests first.
+   *
+   * @param testFiles        the test files
+   * @param shardCount       the maximum number of shards
+   * @param expectedDuration the expected duration of a test file
+   * @return the shards, never more than there are tests
+   */
+  public static List<List<VirtualFile>> shard(
+    List<VirtualFile> testFiles,
+    int shardCount,
+    ToLongFunction<VirtualFile> expectedDuration
+  ) {
+    List<TimedTestFile> slowestFirst = new ArrayList<>(testFiles.size());
+    for (VirtualFile testFile : testFiles) {
+      slowestFirst.add(
+        new TimedTestFile(testFile, expectedDuration.applyAsLong(testFile))
+      );
+    }
+    // Stable sort, tests with equal durations keep their order
+    slowestFirst.sort(
+      Comparator.comparingLong(TimedTestFile::duration).reversed()
+    );
+
+    int shards = Math.max(1, Math.min(shardCount, testFiles.size()));
+    PriorityQueue<Shard> leastLoadedFirst = new PriorityQueue<>(
+      shards,
+      Comparator.comparingLong(Shard::getLoad).thenComparingInt(Shard::getIndex)
+    );
+    List<List<VirtualFile>> sharded = new ArrayList<>(shards);
+    for (int i = 0; i < shards; i++) {
+      Shard shard = new Shard(i, testFiles.size() / shards + 1);
+      leastLoadedFirst.add(shard);
+      sharded.add(shard.testFiles);
+    }
+
+    for (TimedTestFile timedTestFile : slowestFirst) {
+      Shard shard = leastLoadedFirst.poll();
+      shard.add(timedTestFile);
+      leastLoadedFirst.add(shard);
+    }
+    return sharded;
+  }
+
+  private record TimedTestFile(VirtualFile testFile, long duration) {}
+
+  private static final class Shard {
+
+    private final int index;
+    private final List<VirtualFile> testFiles;
+    private long load;
+
+    private Shard(int index, int capacity) {
+      this.index = index;
+      this.testFiles = new ArrayList<>(capacity);
+    }
+
+    private void add(TimedTestFile timedTestFile) {
+      testFiles.add(timedTestFile.testFile());
+      load += timedTestFile.duration();
+    }
+
+    private int getIndex() {
+      return index;
+    }
+
+    private long getLoad() {
+      return load;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static java.util.Objects.isNull;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.diagnostic.Logger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes a test selection into the VM parameter telling the runner which tests to run.
+ * The encoding is chosen by the size of the selection:
+ * <ul>
+ *   <li>{@code -Dtests.to.run=*MyTest*,*OtherTest*} for selections that fit on the command line,
+ *   {@code -Dtests.to.run=MyTest,OtherTest} for exact selections</li>
+ *   <li>{@code -Dtests.to.run.dirs=com/example/cards,...} with the source root relative folders,
+ *   when only whole folders were selected</li>
+ *   <li>{@code -Dtests.to.run.file=/tmp/citrus-tests-to-run.txt} pointing to a file with one
+ *   test name pattern per line otherwise, matching like the inline form so that the same
+ *   selection runs the same tests whatever its size</li>
+ * </ul>
+ * The selection file belongs to one launch and is deleted once its process terminated.
+ */
+public final class TestsToRunEncoder {
+
+  public static final String TESTS_TO_RUN = "-Dtests.to.run=";
+  public static final String TESTS_TO_RUN_DIRS = "-Dtests.to.run.dirs=";
+  public static final String TESTS_TO_RUN_FILE = "-Dtests.to.run.file=";
+
+  // Leaves enough room for the classpath and the other arguments below the 32k limit of Windows
+  static final int INLINE_LIMIT = 8_000;
+
+  private static final Logger LOG = Logger.getInstance(
+    TestsToRunEncoder.class
+  );
+
+  private TestsToRunEncoder() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * The encoded selection
+   *
+   * @param vmParameter   the VM parameter selecting the tests
+   * @param selectionFile the file the parameter points to, to be deleted once the tests ran,
+   *                      null if the tests are passed on the command line
+   */
+  public record Encoding(String vmParameter, @Nullable Path selectionFile) {}
+
+  /**
+   * @return true if the tests are selected by name patterns, which may match other tests
+   * whose name contains a selected one
+   */
+  public static boolean usesNamePatterns(TestSelection testSelection) {
+    return !testSelection.isExact() && !usesDirectories(testSelection);
+  }
+
+  /**
+   * @param testSelection the discovered tests
+   * @return the VM parameter selecting the tests, with the selection file it points to
+   * @throws IOException if the selection file cannot be written
+   */
+  public static Encoding encode(TestSelection testSelection)
+    throws IOException {
+    if (fitsInline(testSelection)) {
+      return new Encoding(
+        TESTS_TO_RUN + testSelection.getTestFileNames(),
+        null
+      );
+    }
+    if (usesDirectories(testSelection)) {
+      return new Encoding(
+        TESTS_TO_RUN_DIRS + String.join(",", testSelection.getDirectories()),
+        null
+      );
+    }
+
+    Path selectionFile = writeSelectionFile(testSelection);
+    return new Encoding(
+      quoteIfNeeded(TESTS_TO_RUN_FILE + selectionFile.toAbsolutePath()),
+      selectionFile
+    );
+  }
+
+  /**
+   * Deletes the selection file of a launch, if any
+   */
+  public static void deleteSelectionFile(@Nullable Path selectionFile) {
+    if (isNull(selectionFile)) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(selectionFile);
+    } catch (IOException e) {
+      LOG.debug("The selection file could not be deleted", e);
+    }
+  }
+
+  private static boolean fitsInline(TestSelection testSelection) {
+    return testSelection.getTestFileNames().length() <= INLINE_LIMIT;
+  }
+
+  private static boolean usesDirectories(TestSelection testSelection) {
+    if (fitsInline(testSelection)) {
+      return false;
+    }
+    String directories = String.join(",", testSelection.getDirectories());
+    return !directories.isEmpty() && directories.length() <= INLINE_LIMIT;
+  }
+
+  private static Path writeSelectionFile(TestSelection testSelection)
+    throws IOException {
+    // The same patterns as inline, one per line
+    List<String> testNames = List.of(
+      testSelection.getTestFileNames().split(",")
+    );
+    Path selectionFile = Files.createTempFile("citrus-tests-to-run", ".txt");
+    return Files.write(selectionFile, testNames, StandardCharsets.UTF_8);
+  }
+
+  private static String quoteIfNeeded(String parameter) {
+    return parameter.contains(" ") ? "\"" + parameter + "\"" : parameter;
+  }
+}
@@ -0,0 +1,139 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.VirtualFileUtil;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the citrus tests affected by changed files: the changed tests themselves and the tests
+ * using a changed fragment, payload, template or Java bean, directly or through other fragments.
+ * The users are looked up in the {@link CitrusReferenceIndex}.
+ * Must be called in a read action in smart mode.
+ */
+public final class AffectedTestFinder {
+
+  private static final String BEAN_ANNOTATION =
+    "org.springframework.context.annotation.Bean";
+
+  private AffectedTestFinder() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param project      the project
+   * @param changedFiles the changed files
+   * @return the affected test files, sorted by path
+   */
+  public static List<VirtualFile> findAffectedTests(
+    Project project,
+    Collection<VirtualFile> changedFiles
+  ) {
+    GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    Set<VirtualFile> affectedTests = new HashSet<>();
+    Set<VirtualFile> visitedFiles = new HashSet<>(changedFiles);
+    Set<String> visitedKeys = new HashSet<>();
+    Deque<String> keys = new ArrayDeque<>();
+    for (VirtualFile changedFile : changedFiles) {
+      if (VirtualFileUtil.isTestFile(changedFile)) {
+        affectedTests.add(changedFile);
+      }
+      addNewKeys(providedKeys(project, changedFile), visitedKeys, keys);
+    }
+
+    while (!keys.isEmpty()) {
+      for (VirtualFile user : fileBasedIndex.getContainingFiles(
+        CitrusReferenceIndex.NAME,
+        keys.poll(),
+        scope
+      )) {
+        if (VirtualFileUtil.isTestFile(user)) {
+          affectedTests.add(user);
+        } else if (visitedFiles.add(user)) {
+          addNewKeys(providedKeys(project, user), visitedKeys, keys);
+        }
+      }
+    }
+
+    List<VirtualFile> sortedTests = new ArrayList<>(affectedTests);
+    sortedTests.sort(Comparator.comparing(VirtualFile::getPath));
+    return sortedTests;
+  }
+
+  private static void addNewKeys(
+    Set<String> providedKeys,
+    Set<String> visitedKeys,
+    Deque<String> keys
+  ) {
+    for (String key : providedKeys) {
+      if (visitedKeys.add(key)) {
+        keys.add(key);
+      }
+    }
+  }
+
+  /**
+   * @return the keys under which other files reference the file: its name, the templates and beans
+   * it defines if it is an XML file, its classes and bean factory methods if it is a Java file
+   */
+  static Set<String> providedKeys(Project project, VirtualFile file) {
+    Set<String> providedKeys = new HashSet<>();
+    providedKeys.add(CitrusReferences.fileKey(file.getName()));
+    if (XmlFileType.INSTANCE.equals(file.getFileType())) {
+      try {
+        providedKeys.addAll(
+          CitrusReferences.parse(VfsUtilCore.loadText(file)).defined()
+        );
+      } catch (IOException e) {
+        // The file name is still a valid key
+      }
+      return providedKeys;
+    }
+
+    PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+    if (psiFile instanceof PsiJavaFile javaFile) {
+      for (PsiClass psiClass : javaFile.getClasses()) {
+        addClassKeys(psiClass, providedKeys);
+      }
+    }
+    return providedKeys;
+  }
+
+  private static void addClassKeys(PsiClass psiClass, Set<String> keys) {
+    String qualifiedName = psiClass.getQualifiedName();
+    if (nonNull(qualifiedName)) {
+      keys.add(CitrusReferences.classKey(qualifiedName));
+    }
+    if (nonNull(psiClass.getName())) {
+      keys.add(
+        CitrusReferences.beanKey(StringUtil.decapitalize(psiClass.getName()))
+      );
+    }
+    for (PsiMethod method : psiClass.getMethods()) {
+      if (method.hasAnnotation(BEAN_ANNOTATION)) {
+        keys.add(CitrusReferences.beanKey(method.getName()));
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Persistent reverse index from the resources, templates, beans and classes referenced by XML files,
+ * see {@link CitrusReferences}, to the files referencing them. The platform re-indexes a file
+ * whenever it changes, so looking up the users of a shared fragment never reads the tests.
+ */
+public class CitrusReferenceIndex extends ScalarIndexExtension<String> {
+
+  public static final ID<String, Void> NAME = ID.create(
+    "ch.postfinance.citrusframework.plugin.CitrusReferenceIndex"
+  );
+
+  private static final int VERSION = 1;
+
+  @Override
+  public @NotNull ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @Override
+  public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+    return fileContent -> {
+      Map<String, Void> keys = new HashMap<>();
+      for (String key : CitrusReferences.parse(
+        fileContent.getContentAsText()
+      ).referenced()) {
+        keys.put(key, null);
+      }
+      return keys;
+    };
+  }
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE);
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+}
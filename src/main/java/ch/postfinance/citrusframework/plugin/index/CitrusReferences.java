@@ -0,0 +1,130 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import ch.postfinance.citrusframework.plugin.CitrusTestDetector;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extracts the references between citrus XML files and the resources, templates and beans they use.
+ * References and definitions are expressed as keys, e.g. {@code file:payload.json},
+ * {@code template:login} or {@code bean:accountEndpoint}, so that a changed file can be matched
+ * with the files referencing it.
+ */
+public final class CitrusReferences {
+
+  static final String FILE = "file:";
+  static final String TEMPLATE = "template:";
+  static final String BEAN = "bean:";
+  static final String CLASS = "class:";
+
+  private static final Set<String> BEAN_ATTRIBUTES = Set.of(
+    "endpoint",
+    "ref",
+    "bean",
+    "client",
+    "server",
+    "data-source",
+    "connection-factory"
+  );
+  private static final Pattern RESOURCE_PATH = Pattern.compile(
+    "(?:.*[/:])?([\\w.\\-]+\\.(?:xml|json|xsd|txt|properties|csv|ya?ml|groovy|sql))"
+  );
+  private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY =
+    ThreadLocal.withInitial(CitrusTestDetector::createXmlInputFactory);
+
+  private CitrusReferences() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param referenced the keys of the resources, templates, beans and classes used by the file
+   * @param defined    the keys of the templates and beans defined by the file
+   */
+  public record References(Set<String> referenced, Set<String> defined) {}
+
+  /**
+   * Reads the references of an XML file. Malformed XML, e.g. while it is edited,
+   * yields the references found up to the error.
+   *
+   * @param xml the content of the XML file
+   * @return the references and definitions of the file
+   */
+  public static References parse(CharSequence xml) {
+    References references = new References(new HashSet<>(), new HashSet<>());
+    try {
+      XMLStreamReader reader = XML_INPUT_FACTORY.get().createXMLStreamReader(
+        new StringReader(xml.toString())
+      );
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+            readElement(reader, references);
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      // Keep the references read so far
+    }
+    return references;
+  }
+
+  private static void readElement(
+    XMLStreamReader reader,
+    References references
+  ) {
+    String element = reader.getLocalName();
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String attribute = reader.getAttributeLocalName(i);
+      String value = reader.getAttributeValue(i).trim();
+      if (value.isEmpty()) {
+        continue;
+      }
+
+      if ("id".equals(attribute)) {
+        references.defined().add(beanKey(value));
+      } else if ("name".equals(attribute) && "template".equals(element)) {
+        references.defined().add(TEMPLATE + value);
+      } else if ("name".equals(attribute) && "call-template".equals(element)) {
+        references.referenced().add(TEMPLATE + value);
+      } else if ("class".equals(attribute)) {
+        references.referenced().add(classKey(value));
+      } else if (BEAN_ATTRIBUTES.contains(attribute)) {
+        references.referenced().add(beanKey(value));
+      }
+
+      Matcher resourcePath = RESOURCE_PATH.matcher(value);
+      if (resourcePath.matches()) {
+        references.referenced().add(fileKey(resourcePath.group(1)));
+      }
+    }
+  }
+
+  public static String fileKey(String fileName) {
+    return FILE + fileName;
+  }
+
+  /**
+   * @return the file name of a {@link #fileKey(String)}, null for any other key
+   */
+  public static @Nullable String fileName(String key) {
+    return key.startsWith(FILE) ? key.substring(FILE.length()) : null;
+  }
+
+  public static String beanKey(String beanName) {
+    return BEAN + beanName;
+  }
+
+  public static String classKey(String qualifiedName) {
+    return CLASS + qualifiedName;
+  }
+}
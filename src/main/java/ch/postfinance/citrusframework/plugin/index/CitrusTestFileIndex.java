@@ -0,0 +1,154 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.CitrusTestDetector;
+import ch.postfinance.citrusframework.plugin.VirtualFileUtil;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Persistent index of citrus test files, detected by their root element, keyed by the ids
+ * of all directories containing them.
+ * The platform keeps it up to date from VFS events, so a directory can be checked for
+ * test files with a single lookup instead of walking its children.
+ */
+public class CitrusTestFileIndex extends ScalarIndexExtension<Integer> {
+
+  public static final ID<Integer, Void> NAME = ID.create(
+    "ch.postfinance.citrusframework.plugin.CitrusTestFileIndex"
+  );
+
+  private static final int VERSION = 2;
+
+  @Override
+  public @NotNull ID<Integer, Void> getName() {
+    return NAME;
+  }
+
+  @Override
+  public @NotNull DataIndexer<Integer, Void, FileContent> getIndexer() {
+    return fileContent ->
+      CitrusTestDetector.isCitrusTest(
+          new ByteArrayInputStream(fileContent.getContent())
+        )
+        ? indexAncestors(fileContent.getFile())
+        : Map.of();
+  }
+
+  @Override
+  public @NotNull KeyDescriptor<Integer> getKeyDescriptor() {
+    return EnumeratorIntegerDescriptor.INSTANCE;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE);
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  /**
+   * Ids are used instead of paths, so renaming a directory does not invalidate its entries.
+   */
+  static Map<Integer, Void> indexAncestors(VirtualFile testFile) {
+    Map<Integer, Void> ancestors = new HashMap<>();
+    for (
+      VirtualFile parent = testFile.getParent();
+      nonNull(parent);
+      parent = parent.getParent()
+    ) {
+      if (parent instanceof VirtualFileWithId parentWithId) {
+        ancestors.put(parentWithId.getId(), null);
+      }
+    }
+    return ancestors;
+  }
+
+  /**
+   * Checks whether the selection is or contains at least one citrus test file, without traversing
+   * the file tree. While the index is being built (dumb mode), directories are optimistically
+   * assumed to contain tests.
+   *
+   * @param project      the project the selection belongs to
+   * @param virtualFiles the selected files and directories
+   * @return true if at least one test file is selected or located below a selected directory
+   */
+  public static boolean containsAtLeastOneTestFile(
+    Project project,
+    VirtualFile[] virtualFiles
+  ) {
+    if (DumbService.isDumb(project)) {
+      return containsTestFileOrDirectory(virtualFiles);
+    }
+
+    try {
+      GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+      for (VirtualFile virtualFile : virtualFiles) {
+        if (virtualFile.isDirectory()) {
+          if (isIndexedTestDirectory(virtualFile, scope)) {
+            return true;
+          }
+        } else if (VirtualFileUtil.isTestFile(virtualFile)) {
+          return true;
+        }
+      }
+      return false;
+    } catch (IndexNotReadyException e) {
+      return containsTestFileOrDirectory(virtualFiles);
+    }
+  }
+
+  private static boolean isIndexedTestDirectory(
+    VirtualFile directory,
+    GlobalSearchScope scope
+  ) {
+    if (!(directory instanceof VirtualFileWithId directoryWithId)) {
+      return false;
+    }
+    // The processor stops at the first value, processValues then returns false
+    return !FileBasedIndex.getInstance().processValues(
+      NAME,
+      directoryWithId.getId(),
+      null,
+      (file, value) -> false,
+      scope
+    );
+  }
+
+  private static boolean containsTestFileOrDirectory(
+    VirtualFile[] virtualFiles
+  ) {
+    for (VirtualFile virtualFile : virtualFiles) {
+      if (virtualFile.isDirectory() || VirtualFileUtil.isTestFile(virtualFile)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
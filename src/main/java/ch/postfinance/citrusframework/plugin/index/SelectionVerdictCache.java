@@ -0,0 +1,74 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static java.util.Objects.nonNull;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remembers the verdict of {@link CitrusTestFileIndex#containsAtLeastOneTestFile} for the last
+ * selection, so that the update() checks of all plugin actions of one context menu only look
+ * it up once. The verdict is recomputed after any VFS change or when indexing starts or ends.
+ */
+@Service(Service.Level.APP)
+public final class SelectionVerdictCache {
+
+  /**
+   * @param projectHash          the location hash of the project, so no project is kept alive
+   * @param files                the selected files and folders
+   * @param vfsModificationCount the modification count of the VFS
+   * @param dumb                 true while the project is being indexed
+   */
+  record Fingerprint(
+    String projectHash,
+    List<VirtualFile> files,
+    long vfsModificationCount,
+    boolean dumb
+  ) {}
+
+  private record Entry(Fingerprint fingerprint, boolean verdict) {}
+
+  private final AtomicReference<Entry> lastEntry = new AtomicReference<>();
+
+  public static SelectionVerdictCache getInstance() {
+    return ApplicationManager.getApplication().getService(
+      SelectionVerdictCache.class
+    );
+  }
+
+  /**
+   * @see CitrusTestFileIndex#containsAtLeastOneTestFile(Project, VirtualFile[])
+   */
+  public boolean containsAtLeastOneTestFile(
+    Project project,
+    VirtualFile[] virtualFiles
+  ) {
+    return get(
+      new Fingerprint(
+        project.getLocationHash(),
+        List.of(virtualFiles),
+        VirtualFileManager.getInstance().getModificationCount(),
+        DumbService.isDumb(project)
+      ),
+      () -> CitrusTestFileIndex.containsAtLeastOneTestFile(project, virtualFiles)
+    );
+  }
+
+  boolean get(Fingerprint fingerprint, BooleanSupplier verdictSupplier) {
+    Entry entry = lastEntry.get();
+    if (nonNull(entry) && entry.fingerprint().equals(fingerprint)) {
+      return entry.verdict();
+    }
+    // Concurrent checks of the same selection may both compute the verdict, which is harmless
+    boolean verdict = verdictSupplier.getAsBoolean();
+    lastEntry.set(new Entry(fingerprint, verdict));
+    return verdict;
+  }
+}
@@ -0,0 +1,197 @@
+package ch.postfinance.citrusframework.plugin.listener;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.daemon.CitrusDaemon;
+import ch.postfinance.citrusframework.plugin.diagnostics.Phase;
+import ch.postfinance.citrusframework.plugin.diagnostics.PhaseTimings;
+import ch.postfinance.citrusframework.plugin.execution.BatchRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusRunTracker;
+import ch.postfinance.citrusframework.plugin.execution.FastRelaunchTracker;
+import ch.postfinance.citrusframework.plugin.execution.ShardedRun;
+import ch.postfinance.citrusframework.plugin.execution.TestsToRunEncoder;
+import ch.postfinance.citrusframework.plugin.load.LoadRun;
+import ch.postfinance.citrusframework.plugin.profiling.JfrProfileService;
+import ch.postfinance.citrusframework.plugin.settings.CitrusSettings;
+import ch.postfinance.citrusframework.plugin.telemetry.TelemetryService;
+import ch.postfinance.citrusframework.plugin.toolwindow.CitrusToolWindowFactory;
+import com.intellij.execution.ExecutionListener;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Registers the processes of the runs launched by the plugin in the {@link CitrusRunTracker}
+ * and marks them as successful launches for the {@link FastRelaunchTracker}.
+ * Times the before run tasks and the process start of the runs, tracks the runner process
+ * of the {@link CitrusDaemon}, launches the pending configurations of a {@link BatchRun} and
+ * the pending shards of a {@link ShardedRun}, starts the telemetry sampling, summarizes the
+ * flight recordings of profiled runs, reports the load tests, launches the follow-up runs and
+ * deletes the selection files.
+ */
+public class CitrusExecutionListener implements ExecutionListener {
+
+  private final Project project;
+
+  public CitrusExecutionListener(Project project) {
+    this.project = project;
+  }
+
+  @Override
+  public void processStartScheduled(
+    @NotNull String executorId,
+    @NotNull ExecutionEnvironment env
+  ) {
+    CitrusRun run = getCitrusRun(env);
+    if (nonNull(run)) {
+      run.startPhase();
+    }
+  }
+
+  @Override
+  public void processNotStarted(
+    @NotNull String executorId,
+    @NotNull ExecutionEnvironment env
+  ) {
+    CitrusRun run = getCitrusRun(env);
+    if (nonNull(run)) {
+      runNotStarted(project, run);
+    }
+  }
+
+  /**
+   * Releases what the run holds, when its process is not started, or when its launch was
+   * abandoned before reaching the platform, e.g. because its configuration copy failed
+   */
+  public static void runNotStarted(Project project, CitrusRun run) {
+    TestsToRunEncoder.deleteSelectionFile(run.getSelectionFile());
+    // The follow-up run would not start either
+    run.takeNextLaunch();
+    BatchRun batchRun = run.getBatchRun();
+    if (nonNull(batchRun)) {
+      if (batchRun.configurationNotStarted(run.getBatchIndex())) {
+        CitrusTestStatusListener.notifyBatchFinished(project, batchRun);
+      }
+      launchNext(project, batchRun);
+    }
+    ShardedRun shardedRun = run.getShardedRun();
+    if (nonNull(shardedRun) && shardedRun.shardNotStarted()) {
+      CitrusTestStatusListener.notifyShardedRunFinished(project, shardedRun);
+    }
+  }
+
+  @Override
+  public void processStarting(
+    @NotNull String executorId,
+    @NotNull ExecutionEnvironment env
+  ) {
+    CitrusRun run = getCitrusRun(env);
+    if (nonNull(run)) {
+      PhaseTimings.getInstance().record(
+        Phase.BEFORE_RUN_BUILD,
+        run.getPhaseStartNanos(),
+        1
+      );
+      run.startPhase();
+    }
+  }
+
+  @Override
+  public void processStarted(
+    @NotNull String executorId,
+    @NotNull ExecutionEnvironment env,
+    @NotNull ProcessHandler handler
+  ) {
+    CitrusRun run = getCitrusRun(env);
+    if (nonNull(run)) {
+      PhaseTimings.getInstance().record(
+        Phase.PROCESS_START,
+        run.getPhaseStartNanos(),
+        1
+      );
+      CitrusRunTracker.getInstance(project).processStarted(handler, run);
+      if (nonNull(run.getShardedRun())) {
+        // The first shard built the project, the others are launched without build
+        run
+          .getShardedRun()
+          .shardStarted()
+          .forEach(launch ->
+            ApplicationManager.getApplication()
+              .invokeLater(launch, project.getDisposed())
+          );
+      }
+      Long buildGeneration = run.getBuildGeneration();
+      if (nonNull(buildGeneration)) {
+        // Launches without build did not compile the changes since
+        FastRelaunchTracker.getInstance(project).launchSucceeded(
+          buildGeneration
+        );
+      }
+      if (run.isDaemon()) {
+        CitrusDaemon.getInstance(project).started(handler);
+      }
+      if (CitrusSettings.getInstance(project).isTelemetry()) {
+        TelemetryService.getInstance(project).processStarted(handler, run);
+      }
+    }
+  }
+
+  @Override
+  public void processTerminated(
+    @NotNull String executorId,
+    @NotNull ExecutionEnvironment env,
+    @NotNull ProcessHandler handler,
+    int exitCode
+  ) {
+    CitrusRun run = getCitrusRun(env);
+    if (isNull(run)) {
+      return;
+    }
+    TestsToRunEncoder.deleteSelectionFile(run.getSelectionFile());
+    Runnable nextLaunch = run.takeNextLaunch();
+    if (nonNull(nextLaunch)) {
+      ApplicationManager.getApplication()
+        .invokeLater(nextLaunch, project.getDisposed());
+    }
+    if (run.isDaemon()) {
+      CitrusDaemon.getInstance(project).terminated(handler);
+    }
+    if (nonNull(run.getBatchRun())) {
+      launchNext(project, run.getBatchRun());
+    }
+    if (nonNull(run.getJfrRecording())) {
+      JfrProfileService.getInstance(project).recordingFinished(run);
+    }
+    LoadRun loadRun = run.getLoadRun();
+    if (nonNull(loadRun)) {
+      // Shown once the pending test events of the process were processed
+      ApplicationManager.getApplication()
+        .invokeLater(
+          () ->
+            CitrusToolWindowFactory.showReport(
+              project,
+              run.getName(),
+              loadRun.format()
+            ),
+          project.getDisposed()
+        );
+    }
+  }
+
+  private static void launchNext(Project project, BatchRun batchRun) {
+    Runnable nextLaunch = batchRun.launchFinished();
+    if (nonNull(nextLaunch)) {
+      ApplicationManager.getApplication()
+        .invokeLater(nextLaunch, project.getDisposed());
+    }
+  }
+
+  private static @Nullable CitrusRun getCitrusRun(ExecutionEnvironment env) {
+    return env.getUserData(CitrusRun.KEY);
+  }
+}
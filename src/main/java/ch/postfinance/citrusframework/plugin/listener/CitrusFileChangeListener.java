@@ -0,0 +1,95 @@
+package ch.postfinance.citrusframework.plugin.listener;
+
+import static java.util.Objects.isNull;
+
+import ch.postfinance.citrusframework.plugin.daemon.CitrusDaemon;
+import ch.postfinance.citrusframework.plugin.execution.CitrusWatchService;
+import ch.postfinance.citrusframework.plugin.execution.FastRelaunchTracker;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jps.model.java.JavaModuleSourceRootTypes;
+
+/**
+ * Reports the changes to the source and resource files of the project to the {@link FastRelaunchTracker}
+ * and the {@link CitrusDaemon}.
+ * Only changed or created XML files below resource roots count as test resource changes,
+ * any other change requires a full build. The test resource changes, including saved documents,
+ * also trigger the {@link CitrusWatchService}.
+ */
+public class CitrusFileChangeListener implements BulkFileListener {
+
+  private final Project project;
+
+  public CitrusFileChangeListener(Project project) {
+    this.project = project;
+  }
+
+  @Override
+  public void before(@NotNull List<? extends @NotNull VFileEvent> events) {
+    // Deleted files are no longer part of the sources once the events are processed
+    ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
+    for (VFileEvent event : events) {
+      if (
+        event instanceof VFileDeleteEvent &&
+        projectFileIndex.isInSourceContent(event.getFile())
+      ) {
+        otherFileChanged();
+      }
+    }
+  }
+
+  @Override
+  public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+    FastRelaunchTracker tracker = FastRelaunchTracker.getInstance(project);
+    CitrusWatchService watchService = CitrusWatchService.getInstance(project);
+    ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
+    for (VFileEvent event : events) {
+      VirtualFile file = event.getFile();
+      if (
+        event instanceof VFileDeleteEvent ||
+        isNull(file) ||
+        !projectFileIndex.isInSourceContent(file)
+      ) {
+        continue;
+      }
+
+      if (isTestResourceChange(event, file, projectFileIndex)) {
+        tracker.testResourceChanged(file);
+        watchService.xmlFileChanged(file);
+      } else {
+        otherFileChanged();
+      }
+    }
+  }
+
+  private void otherFileChanged() {
+    FastRelaunchTracker.getInstance(project).otherFileChanged();
+    CitrusDaemon.getInstance(project).otherFileChanged();
+  }
+
+  private static boolean isTestResourceChange(
+    VFileEvent event,
+    VirtualFile file,
+    ProjectFileIndex projectFileIndex
+  ) {
+    return (
+      (event instanceof VFileContentChangeEvent ||
+        event instanceof VFileCreateEvent) &&
+      !file.isDirectory() &&
+      XmlFileType.INSTANCE.equals(file.getFileType()) &&
+      projectFileIndex.isUnderSourceRootOfType(
+        file,
+        JavaModuleSourceRootTypes.RESOURCES
+      )
+    );
+  }
+}
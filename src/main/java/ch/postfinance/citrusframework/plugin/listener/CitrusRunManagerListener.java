@@ -0,0 +1,56 @@
+package ch.postfinance.citrusframework.plugin.listener;
+
+import ch.postfinance.citrusframework.plugin.execution.PreparedConfigurationCache;
+import ch.postfinance.citrusframework.plugin.model.RunConfigurationModel;
+import com.intellij.execution.RunManager;
+import com.intellij.execution.RunManagerListener;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Invalidates the {@link PreparedConfigurationCache} and the {@link RunConfigurationModel} whenever
+ * a run configuration changes, so that they always reflect the current run configurations
+ */
+public class CitrusRunManagerListener implements RunManagerListener {
+
+  private final Project project;
+
+  public CitrusRunManagerListener(Project project) {
+    this.project = project;
+  }
+
+  @Override
+  public void runConfigurationAdded(
+    @NotNull RunnerAndConfigurationSettings settings
+  ) {
+    invalidate();
+  }
+
+  @Override
+  public void runConfigurationRemoved(
+    @NotNull RunnerAndConfigurationSettings settings
+  ) {
+    invalidate();
+  }
+
+  @Override
+  public void runConfigurationChanged(
+    @NotNull RunnerAndConfigurationSettings settings
+  ) {
+    invalidate();
+  }
+
+  @Override
+  public void stateLoaded(
+    @NotNull RunManager runManager,
+    boolean isFirstLoadState
+  ) {
+    invalidate();
+  }
+
+  private void invalidate() {
+    PreparedConfigurationCache.getInstance(project).invalidate();
+    RunConfigurationModel.getInstance(project).invalidate();
+  }
+}
@@ -0,0 +1,235 @@
+package ch.postfinance.citrusframework.plugin.listener;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.execution.BatchRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusRun;
+import ch.postfinance.citrusframework.plugin.execution.CitrusRunTracker;
+import ch.postfinance.citrusframework.plugin.execution.ShardedRun;
+import ch.postfinance.citrusframework.plugin.execution.TestDurationHistory;
+import ch.postfinance.citrusframework.plugin.load.LoadRun;
+import ch.postfinance.citrusframework.plugin.results.TestResult;
+import ch.postfinance.citrusframework.plugin.results.TestResultStore;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsAdapter;
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.util.PathUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects the test results of the runs launched by the plugin: records the test durations and
+ * results, the running test, the test intervals of profiled runs and the executions of load
+ * tests, and sums up sharded and batch runs once their last shard or configuration finished
+ */
+public class CitrusTestStatusListener extends SMTRunnerEventsAdapter {
+
+  public static final String NOTIFICATION_GROUP = "Citrus XML Test Runner";
+
+  private static final String FILE_PROTOCOL = "file://";
+
+  // A single writer, so that the results are stored in the order the runs finished
+  private static final ExecutorService RESULT_WRITER =
+    AppExecutorUtil.createBoundedApplicationPoolExecutor(
+      "Citrus Test Result Writer",
+      1
+    );
+
+  private final Project project;
+
+  public CitrusTestStatusListener(Project project) {
+    this.project = project;
+  }
+
+  @Override
+  public void onTestStarted(@NotNull SMTestProxy test) {
+    CitrusRun run = getRun(test);
+    if (nonNull(run)) {
+      run.testStarted(test.getName());
+      if (nonNull(run.getLoadRun())) {
+        run.getLoadRun().testStarted(System.currentTimeMillis());
+      }
+    }
+  }
+
+  @Override
+  public void onTestFinished(@NotNull SMTestProxy test) {
+    CitrusRun run = getRun(test);
+    if (isNull(run)) {
+      return;
+    }
+    run.testFinished(test.getName());
+    LoadRun loadRun = run.getLoadRun();
+    if (
+      nonNull(loadRun) && !test.isIgnored() && nonNull(test.getDuration())
+    ) {
+      loadRun.testFinished(
+        LoadRun.rowName(getPath(test)),
+        test.getDuration(),
+        !test.isDefect(),
+        System.currentTimeMillis()
+      );
+    }
+  }
+
+  @Override
+  public void onTestingFinished(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+    CitrusRun run = CitrusRunTracker.getInstance(project).getRun(
+      testsRoot.getHandler()
+    );
+    // The repeated executions of a load test would skew the recorded durations and results
+    if (isNull(run) || nonNull(run.getLoadRun())) {
+      return;
+    }
+
+    TestDurationHistory durationHistory = TestDurationHistory.getInstance(
+      project
+    );
+    long timestamp = System.currentTimeMillis();
+    List<TestResult> testResults = new ArrayList<>();
+    int tests = 0;
+    int failedTests = 0;
+    int ignoredTests = 0;
+    for (SMTestProxy test : testsRoot.getAllTests()) {
+      if (!test.isLeaf() || test.isSuite()) {
+        continue;
+      }
+      tests++;
+      if (test.isIgnored()) {
+        ignoredTests++;
+        continue;
+      }
+      if (test.isDefect()) {
+        failedTests++;
+      }
+      Long duration = test.getDuration();
+      if (nonNull(duration)) {
+        String testName = getTestName(test);
+        durationHistory.record(testName, duration);
+        testResults.add(
+          new TestResult(timestamp, testName, !test.isDefect(), duration)
+        );
+      }
+    }
+    // Off the UI thread the test events are delivered on, the first append loads the history
+    RESULT_WRITER.execute(() -> {
+      if (!project.isDisposed()) {
+        TestResultStore.getInstance(project).append(testResults);
+      }
+    });
+
+    BatchRun batchRun = run.getBatchRun();
+    if (
+      nonNull(batchRun) &&
+      batchRun.configurationFinished(
+        run.getBatchIndex(),
+        tests,
+        failedTests,
+        ignoredTests
+      )
+    ) {
+      notifyBatchFinished(project, batchRun);
+    }
+
+    ShardedRun shardedRun = run.getShardedRun();
+    if (
+      nonNull(shardedRun) &&
+      shardedRun.shardFinished(tests, failedTests, ignoredTests)
+    ) {
+      notifyShardedRunFinished(project, shardedRun);
+    }
+  }
+
+  /**
+   * @return the run of the test, null if not launched by the plugin
+   */
+  private @Nullable CitrusRun getRun(SMTestProxy test) {
+    SMTestProxy root = test;
+    while (nonNull(root.getParent())) {
+      root = root.getParent();
+    }
+    if (!(root instanceof SMTestProxy.SMRootTestProxy testsRoot)) {
+      return null;
+    }
+    return CitrusRunTracker.getInstance(project).getRun(
+      testsRoot.getHandler()
+    );
+  }
+
+  /**
+   * @return the names of the test and its ancestors below the root, the test last
+   */
+  private static List<String> getPath(SMTestProxy test) {
+    List<String> path = new ArrayList<>();
+    for (
+      SMTestProxy node = test;
+      nonNull(node.getParent());
+      node = node.getParent()
+    ) {
+      path.add(0, node.getName());
+    }
+    return path;
+  }
+
+  /**
+   * Shows the test results summed up over all shards
+   */
+  static void notifyShardedRunFinished(
+    Project project,
+    ShardedRun shardedRun
+  ) {
+    NotificationGroupManager.getInstance()
+      .getNotificationGroup(NOTIFICATION_GROUP)
+      .createNotification(
+        shardedRun.getName(),
+        shardedRun.getSummary(),
+        shardedRun.isFailed()
+          ? NotificationType.ERROR
+          : NotificationType.INFORMATION
+      )
+      .notify(project);
+  }
+
+  /**
+   * The results are matched with the test files by this name. Runners reporting the XML file
+   * as the location of a test, e.g. as the file source of a JUnit 5 dynamic test, are matched by
+   * the file name, the others by the name of the test, which must then be the file name.
+   *
+   * @return the file name without extension of the test, e.g. MyTest
+   */
+  static String getTestName(SMTestProxy test) {
+    String locationUrl = test.getLocationUrl();
+    if (isNull(locationUrl) || !locationUrl.startsWith(FILE_PROTOCOL)) {
+      return test.getName();
+    }
+    // Without the line, e.g. file:///tests/MyTest.xml:12
+    String fileName = PathUtil.getFileName(
+      locationUrl.substring(FILE_PROTOCOL.length())
+    ).replaceFirst(":\\d+$", "");
+    return FileUtilRt.getNameWithoutExtension(fileName);
+  }
+
+  /**
+   * Shows the test results of every configuration of the batch run
+   */
+  static void notifyBatchFinished(Project project, BatchRun batchRun) {
+    NotificationGroupManager.getInstance()
+      .getNotificationGroup(NOTIFICATION_GROUP)
+      .createNotification(
+        "Batch run finished",
+        batchRun.getSummary(),
+        batchRun.isFailed()
+          ? NotificationType.ERROR
+          : NotificationType.INFORMATION
+      )
+      .notify(project);
+  }
+}
@@ -0,0 +1,77 @@
+package ch.postfinance.citrusframework.plugin.load;
+
+/**
+ * Histogram of latencies in milliseconds with a bounded footprint, however long a soak test runs.
+ * Like an HDR histogram, values below 128 are counted exactly and larger values in log-linear
+ * buckets of 64 per power of two, so a percentile is reported within 1.6% of the recorded value.
+ */
+public class LatencyHistogram {
+
+  private static final int EXACT_VALUES = 128;
+  private static final int SUB_BUCKETS = 64;
+  private static final int SUB_BUCKET_BITS = 6;
+
+  private final long[] counts = new long[
+    EXACT_VALUES + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS
+  ];
+  private long totalCount;
+  private long maxValue;
+
+  public void record(long valueMillis) {
+    long value = Math.max(0, valueMillis);
+    counts[indexOf(value)]++;
+    totalCount++;
+    maxValue = Math.max(maxValue, value);
+  }
+
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  public long getMaxValue() {
+    return maxValue;
+  }
+
+  /**
+   * @param percentile between 0 and 100
+   * @return the highest value of the bucket holding the percentile, 0 if nothing was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+    long cumulativeCount = 0;
+    for (int index = 0; index < counts.length; index++) {
+      cumulativeCount += counts[index];
+      if (cumulativeCount >= rank) {
+        return Math.min(highestValueOf(index), maxValue);
+      }
+    }
+    return maxValue;
+  }
+
+  static int indexOf(long value) {
+    if (value < EXACT_VALUES) {
+      return (int) value;
+    }
+    int shift =
+      Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (
+      EXACT_VALUES +
+      (shift - 1) * SUB_BUCKETS +
+      (int) ((value >> shift) - SUB_BUCKETS)
+    );
+  }
+
+  static long highestValueOf(int index) {
+    if (index < EXACT_VALUES) {
+      return index;
+    }
+    int subBucketIndex = index - EXACT_VALUES;
+    int shift = subBucketIndex / SUB_BUCKETS + 1;
+    long lowestValue =
+      (long) (subBucketIndex % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    return lowestValue + (1L << shift) - 1;
+  }
+}
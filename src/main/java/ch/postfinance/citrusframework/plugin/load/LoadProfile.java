@@ -0,0 +1,47 @@
+package ch.postfinance.citrusframework.plugin.load;
+
+import java.util.List;
+
+/**
+ * How a load test repeats the selected tests in the runner JVM
+ *
+ * @param iterations      the executions of every test per worker, ignored if a duration is set
+ * @param durationSeconds how long the tests are repeated for a soak test, 0 to run iterations
+ * @param concurrency     the workers executing the tests in parallel
+ */
+public record LoadProfile(
+  int iterations,
+  int durationSeconds,
+  int concurrency
+) {
+  public static final String LOAD_ITERATIONS = "-Dcitrus.load.iterations=";
+  public static final String LOAD_DURATION = "-Dcitrus.load.duration=";
+  public static final String LOAD_CONCURRENCY = "-Dcitrus.load.concurrency=";
+
+  /**
+   * @return true if the tests are repeated for a duration rather than a number of iterations
+   */
+  public boolean isSoak() {
+    return durationSeconds > 0;
+  }
+
+  /**
+   * @return the VM parameters telling the runner how to repeat the tests
+   */
+  public List<String> vmParameters() {
+    return List.of(
+      isSoak()
+        ? LOAD_DURATION + durationSeconds + "s"
+        : LOAD_ITERATIONS + iterations,
+      LOAD_CONCURRENCY + concurrency
+    );
+  }
+
+  public String describe() {
+    return (
+      (isSoak() ? durationSeconds + " s" : iterations + " iterations") +
+      " at concurrency " +
+      concurrency
+    );
+  }
+}
@@ -0,0 +1,167 @@
+package ch.postfinance.citrusframework.plugin.load;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the executions of a load test as the runner reports them, and sums them up per
+ * test, or per test action if the runner reports the actions of a test as its children
+ */
+public class LoadRun {
+
+  // JUnit reports the executions of repeated and parameterized tests as children named like this
+  private static final Pattern ITERATION = Pattern.compile(
+    "repetition \\d+ of \\d+|\\[\\d+].*"
+  );
+  private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+  private final LoadProfile profile;
+  private final Map<String, Executions> executionsByRow = new LinkedHashMap<>();
+  private long firstStartMillis;
+  private long lastFinishMillis;
+
+  public LoadRun(LoadProfile profile) {
+    this.profile = profile;
+  }
+
+  public LoadProfile getProfile() {
+    return profile;
+  }
+
+  /**
+   * @param path the names of the test and its ancestors below the root, the test last
+   * @return the row the test is summed up in: the test named after its parent, without
+   * the iteration names
+   */
+  public static String rowName(List<String> path) {
+    int end = path.size();
+    while (end > 1 && ITERATION.matcher(path.get(end - 1)).matches()) {
+      end--;
+    }
+    return end > 1
+      ? path.get(end - 2) + " > " + path.get(end - 1)
+      : path.get(end - 1);
+  }
+
+  public synchronized void testStarted(long timeMillis) {
+    if (firstStartMillis == 0) {
+      firstStartMillis = timeMillis;
+    }
+  }
+
+  public synchronized void testFinished(
+    String row,
+    long durationMillis,
+    boolean passed,
+    long timeMillis
+  ) {
+    Executions executions = executionsByRow.computeIfAbsent(row, name ->
+      new Executions()
+    );
+    executions.latencies.record(durationMillis);
+    if (!passed) {
+      executions.failures++;
+    }
+    lastFinishMillis = Math.max(lastFinishMillis, timeMillis);
+  }
+
+  /**
+   * @return the throughput and the latency percentiles of every row, the slowest p99 first
+   */
+  public synchronized String format() {
+    double wallSeconds =
+      Math.max(lastFinishMillis - firstStartMillis, 1) / 1_000d;
+    long totalExecutions = 0;
+    long totalFailures = 0;
+    for (Executions executions : executionsByRow.values()) {
+      totalExecutions += executions.latencies.getTotalCount();
+      totalFailures += executions.failures;
+    }
+
+    StringBuilder formatted = new StringBuilder()
+      .append("Load test: ")
+      .append(profile.describe())
+      .append('\n')
+      .append(
+        String.format(
+          Locale.ROOT,
+          "Executions: %d, failed: %d, wall time %.1f s, throughput %.1f/s%n%n",
+          totalExecutions,
+          totalFailures,
+          wallSeconds,
+          totalExecutions / wallSeconds
+        )
+      );
+    if (executionsByRow.isEmpty()) {
+      return formatted
+        .append("No test was executed, check that the runner repeats the tests")
+        .toString();
+    }
+
+    formatted.append(
+      String.format(
+        Locale.ROOT,
+        "%10s %7s %8s %7s %7s %7s %7s %7s  %s%n",
+        "Executions",
+        "Failed",
+        "Per s",
+        "p50",
+        "p90",
+        "p99",
+        "p99.9",
+        "Max",
+        "Test (latencies in ms)"
+      )
+    );
+    List<Map.Entry<String, Executions>> rows = new ArrayList<>(
+      executionsByRow.entrySet()
+    );
+    rows.sort(
+      Comparator.comparingLong(
+        (Map.Entry<String, Executions> row) ->
+          row.getValue().latencies.getValueAtPercentile(99)
+      ).reversed()
+    );
+    for (Map.Entry<String, Executions> row : rows) {
+      LatencyHistogram latencies = row.getValue().latencies;
+      formatted.append(
+        String.format(
+          Locale.ROOT,
+          "%10d %7d %8.1f",
+          latencies.getTotalCount(),
+          row.getValue().failures,
+          latencies.getTotalCount() / wallSeconds
+        )
+      );
+      for (double percentile : PERCENTILES) {
+        formatted.append(
+          String.format(
+            Locale.ROOT,
+            " %7d",
+            latencies.getValueAtPercentile(percentile)
+          )
+        );
+      }
+      formatted.append(
+        String.format(
+          Locale.ROOT,
+          " %7d  %s%n",
+          latencies.getMaxValue(),
+          row.getKey()
+        )
+      );
+    }
+    return formatted.toString();
+  }
+
+  private static class Executions {
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long failures;
+  }
+}
@@ -2,14 +2,20 @@ package ch.postfinance.citrusframework.plugin.model;
 
 public class RunConfig {
 
+  private final String uniqueId;
   private final String name;
   private final String type;
 
-  public RunConfig(String name, String type) {
+  public RunConfig(String uniqueId, String name, String type) {
+    this.uniqueId = uniqueId;
     this.name = name;
     this.type = type;
   }
 
+  public String getUniqueId() {
+    return uniqueId;
+  }
+
   public String getName() {
     return name;
   }
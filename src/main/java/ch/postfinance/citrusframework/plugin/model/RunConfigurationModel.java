@@ -0,0 +1,91 @@
+package ch.postfinance.citrusframework.plugin.model;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.execution.JavaTestConfigurationBase;
+import com.intellij.execution.RunManager;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cached model of the run configurations the tests can be launched with, i.e. the
+ * {@link JavaTestConfigurationBase} ones, keyed by unique id. It is rebuilt on first use after
+ * a change of the run configurations, see
+ * {@link ch.postfinance.citrusframework.plugin.listener.CitrusRunManagerListener}.
+ */
+@Service(Service.Level.PROJECT)
+public final class RunConfigurationModel {
+
+  private final Project project;
+  private Map<String, RunnerAndConfigurationSettings> settingsById;
+  private List<RunConfig> runConfigs;
+
+  public RunConfigurationModel(Project project) {
+    this.project = project;
+  }
+
+  public static RunConfigurationModel getInstance(Project project) {
+    return project.getService(RunConfigurationModel.class);
+  }
+
+  /**
+   * @return the supported run configurations, in the order of the run manager
+   */
+  public synchronized List<RunConfig> getRunConfigs() {
+    load();
+    return runConfigs;
+  }
+
+  /**
+   * @param uniqueId the unique id of a run configuration
+   * @return the run configuration, null if it is not supported or no longer exists
+   */
+  public synchronized @Nullable RunnerAndConfigurationSettings findByUniqueId(
+    String uniqueId
+  ) {
+    load();
+    return settingsById.get(uniqueId);
+  }
+
+  public synchronized void invalidate() {
+    settingsById = null;
+    runConfigs = null;
+  }
+
+  private void load() {
+    if (!isNull(settingsById)) {
+      return;
+    }
+
+    List<RunnerAndConfigurationSettings> allSettings = RunManager.getInstance(
+      project
+    ).getAllSettings();
+    settingsById = new LinkedHashMap<>();
+    List<RunConfig> supportedRunConfigs = new ArrayList<>();
+    for (RunnerAndConfigurationSettings settings : allSettings) {
+      if (settings.getConfiguration() instanceof JavaTestConfigurationBase) {
+        String uniqueId = settings.getUniqueID();
+        settingsById.put(uniqueId, settings);
+        supportedRunConfigs.add(
+          new RunConfig(uniqueId, settings.getName(), extractConfigType(uniqueId))
+        );
+      }
+    }
+    runConfigs = List.copyOf(supportedRunConfigs);
+  }
+
+  /**
+   * @param uniqueId the unique id of a run configuration, e.g. JUnit.myConfig
+   * @return the type prefix of the id, e.g. JUnit
+   */
+  public static String extractConfigType(String uniqueId) {
+    int dotIndex = uniqueId.indexOf(".");
+    return dotIndex >= 0 ? uniqueId.substring(0, dotIndex) : uniqueId;
+  }
+}
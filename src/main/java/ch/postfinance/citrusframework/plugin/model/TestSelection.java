@@ -0,0 +1,92 @@
+package ch.postfinance.citrusframework.plugin.model;
+
+import static java.util.Objects.isNull;
+
+import ch.postfinance.citrusframework.plugin.VirtualFileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The citrus tests discovered in a selection of the user
+ */
+public class TestSelection {
+
+  private final List<VirtualFile> testFiles;
+  private final List<String> directories;
+  private final boolean exact;
+  private String testFileNames;
+
+  /**
+   * @param testFiles   the discovered test files, in the order to run them, by default by path
+   * @param directories the source root relative paths of the selected folders,
+   *                    empty unless the selection consists of whole folders only
+   */
+  public TestSelection(List<VirtualFile> testFiles, List<String> directories) {
+    this(testFiles, directories, false);
+  }
+
+  private TestSelection(
+    List<VirtualFile> testFiles,
+    List<String> directories,
+    boolean exact
+  ) {
+    this.testFiles = testFiles;
+    this.directories = directories;
+    this.exact = exact;
+  }
+
+  public List<VirtualFile> getTestFiles() {
+    return testFiles;
+  }
+
+  public List<String> getDirectories() {
+    return directories;
+  }
+
+  public boolean isEmpty() {
+    return testFiles.isEmpty();
+  }
+
+  /**
+   * @return true if the tests are passed by their exact names, see {@link #exact()}
+   */
+  public boolean isExact() {
+    return exact;
+  }
+
+  /**
+   * @return the same tests, passed by their exact names, e.g. MyTest,OtherTest, so that
+   * no test whose name merely contains a selected one is run
+   */
+  public TestSelection exact() {
+    return new TestSelection(testFiles, directories, true);
+  }
+
+  /**
+   * @return the comma separated test file name patterns, e.g. *MyTest*,*OtherTest*,
+   * or the exact names, e.g. MyTest,OtherTest
+   */
+  public String getTestFileNames() {
+    if (isNull(testFileNames)) {
+      testFileNames = VirtualFileUtil.joinTestFileNames(testFiles, exact);
+    }
+    return testFileNames;
+  }
+
+  /**
+   * @param filter the tests to keep
+   * @return the selection of the matching tests, in the same order
+   */
+  public TestSelection filter(Predicate<VirtualFile> filter) {
+    return withTestFiles(testFiles.stream().filter(filter).toList());
+  }
+
+  /**
+   * @param testFiles the tests to run instead, e.g. a shard of these
+   * @return the selection of the given tests, passed by their exact names if these are
+   */
+  public TestSelection withTestFiles(List<VirtualFile> testFiles) {
+    return new TestSelection(testFiles, List.of(), exact);
+  }
+}
@@ -0,0 +1,81 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.execution.CitrusRun;
+import ch.postfinance.citrusframework.plugin.listener.CitrusTestStatusListener;
+import ch.postfinance.citrusframework.plugin.toolwindow.CitrusToolWindowFactory;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Summarizes the flight recording of a profiled run once its process exited, and shows the
+ * summary in a tab of the Citrus tool window
+ */
+@Service(Service.Level.PROJECT)
+public final class JfrProfileService {
+
+  private final Project project;
+
+  public JfrProfileService(Project project) {
+    this.project = project;
+  }
+
+  public static JfrProfileService getInstance(Project project) {
+    return project.getService(JfrProfileService.class);
+  }
+
+  /**
+   * @param run the terminated run, launched with {@link JfrRecordings#vmParameter(Path)}
+   */
+  public void recordingFinished(CitrusRun run) {
+    Path recording = run.getJfrRecording();
+    new Task.Backgroundable(project, "Analyzing the flight recording") {
+      private @Nullable String summary;
+      private @Nullable String error;
+
+      @Override
+      public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        if (!Files.isRegularFile(recording)) {
+          error =
+            "No flight recording was written, the process may have been killed: " +
+            recording;
+          return;
+        }
+        try {
+          JfrSummary jfrSummary = JfrRecordingAnalyzer.analyze(recording);
+          // Read last, the test events are processed concurrently with the analysis
+          summary =
+            "Recording: " +
+            recording +
+            "\n\n" +
+            jfrSummary.format(run.getTestIntervals());
+        } catch (IOException e) {
+          error = "The flight recording could not be read: " + e.getMessage();
+        }
+      }
+
+      @Override
+      public void onSuccess() {
+        if (nonNull(summary)) {
+          CitrusToolWindowFactory.showReport(project, run.getName(), summary);
+          return;
+        }
+        NotificationGroupManager.getInstance()
+          .getNotificationGroup(CitrusTestStatusListener.NOTIFICATION_GROUP)
+          .createNotification(run.getName(), error, NotificationType.WARNING)
+          .notify(project);
+      }
+    }.queue();
+  }
+}
@@ -0,0 +1,76 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import static java.util.Objects.isNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the events of a flight recording written with the profile settings into a {@link JfrSummary}
+ */
+public final class JfrRecordingAnalyzer {
+
+  private JfrRecordingAnalyzer() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param recording the recording file
+   * @return the aggregated events
+   * @throws IOException if the recording cannot be read
+   */
+  public static JfrSummary analyze(Path recording) throws IOException {
+    JfrSummary summary = new JfrSummary();
+    try (RecordingFile recordingFile = new RecordingFile(recording)) {
+      while (recordingFile.hasMoreEvents()) {
+        RecordedEvent event = recordingFile.readEvent();
+        long startMillis = event.getStartTime().toEpochMilli();
+        switch (event.getEventType().getName()) {
+          case "jdk.ExecutionSample" -> summary.executionSample(
+            topMethod(event.getStackTrace()),
+            startMillis
+          );
+          case "jdk.ObjectAllocationSample" -> summary.allocation(
+            className(event.getClass("objectClass")),
+            event.getLong("weight")
+          );
+          case "jdk.GarbageCollection" -> summary.gcPause(
+            startMillis,
+            event.getDuration("sumOfPauses").toNanos()
+          );
+          case "jdk.JavaMonitorEnter" -> summary.lockWait(
+            className(event.getClass("monitorClass")),
+            startMillis,
+            event.getDuration().toNanos()
+          );
+          default -> {
+            // Not summarized
+          }
+        }
+      }
+    }
+    return summary;
+  }
+
+  private static @Nullable String topMethod(
+    @Nullable RecordedStackTrace stackTrace
+  ) {
+    if (isNull(stackTrace) || stackTrace.getFrames().isEmpty()) {
+      return null;
+    }
+    RecordedFrame topFrame = stackTrace.getFrames().getFirst();
+    RecordedMethod method = topFrame.getMethod();
+    return method.getType().getName() + "." + method.getName();
+  }
+
+  private static String className(@Nullable RecordedClass recordedClass) {
+    return isNull(recordedClass) ? "unknown" : recordedClass.getName();
+  }
+}
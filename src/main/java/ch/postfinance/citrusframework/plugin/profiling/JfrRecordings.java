@@ -0,0 +1,79 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The Java Flight Recorder options of a profiled run and the recording files, kept in the system
+ * directory of the IDE. Only the most recent recordings of a project are kept.
+ */
+public final class JfrRecordings {
+
+  static final String START_FLIGHT_RECORDING = "-XX:StartFlightRecording=";
+  static final int MAX_RECORDINGS = 10;
+
+  private static final String EXTENSION = ".jfr";
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern(
+    "yyyyMMdd-HHmmss"
+  );
+
+  private JfrRecordings() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * @param project the project
+   * @param runName the name of the run, used in the file name
+   * @return a new recording file, the oldest recordings beyond {@link #MAX_RECORDINGS} are deleted
+   * @throws IOException if the recording directory cannot be created or cleaned up
+   */
+  public static Path newRecordingFile(Project project, String runName)
+    throws IOException {
+    Path directory = PathManager.getSystemDir()
+      .resolve("citrus-xml-test-runner")
+      .resolve(project.getLocationHash())
+      .resolve("jfr");
+    Files.createDirectories(directory);
+    deleteOldRecordings(directory);
+    return directory.resolve(
+      runName.replaceAll("[^\\w.-]", "_") +
+      "-" +
+      TIMESTAMP.format(LocalDateTime.now()) +
+      EXTENSION
+    );
+  }
+
+  /**
+   * @param recording the recording file
+   * @return the VM parameter starting a profiling recording written to the file on exit
+   */
+  public static String vmParameter(Path recording) {
+    String parameter =
+      START_FLIGHT_RECORDING +
+      "settings=profile,dumponexit=true,filename=" +
+      recording.toAbsolutePath();
+    return parameter.contains(" ") ? "\"" + parameter + "\"" : parameter;
+  }
+
+  static void deleteOldRecordings(Path directory) throws IOException {
+    List<Path> recordings;
+    try (Stream<Path> files = Files.list(directory)) {
+      recordings = files
+        .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+        .sorted(Comparator.comparingLong(file -> file.toFile().lastModified()))
+        .toList();
+    }
+    // Keeps room for the new recording
+    for (int i = 0; i <= recordings.size() - MAX_RECORDINGS; i++) {
+      Files.deleteIfExists(recordings.get(i));
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Aggregates the events of a flight recording into hot methods, allocation pressure, GC pauses and
+ * lock contention, and attributes them to the tests running at the time of the event
+ */
+public class JfrSummary {
+
+  static final int TOP_ENTRIES = 10;
+
+  private record TimedEvent(long startMillis, long durationNanos) {}
+
+  private final Map<String, Integer> methodSamples = new HashMap<>();
+  private final List<Long> sampleTimes = new ArrayList<>();
+  private final Map<String, Long> allocatedBytes = new HashMap<>();
+  private final List<TimedEvent> gcPauses = new ArrayList<>();
+  private final List<TimedEvent> lockWaits = new ArrayList<>();
+  private final Map<String, Long> lockWaitNanos = new HashMap<>();
+  private long totalAllocatedBytes;
+
+  /**
+   * @param topMethod  the method on top of the sampled stack, null if unknown
+   * @param timeMillis the epoch millis of the sample
+   */
+  public void executionSample(@Nullable String topMethod, long timeMillis) {
+    sampleTimes.add(timeMillis);
+    if (nonNull(topMethod)) {
+      methodSamples.merge(topMethod, 1, Integer::sum);
+    }
+  }
+
+  /**
+   * @param className the allocated class
+   * @param bytes     the sampled weight of the allocation
+   */
+  public void allocation(String className, long bytes) {
+    allocatedBytes.merge(className, bytes, Long::sum);
+    totalAllocatedBytes += bytes;
+  }
+
+  public void gcPause(long startMillis, long durationNanos) {
+    gcPauses.add(new TimedEvent(startMillis, durationNanos));
+  }
+
+  /**
+   * @param monitorClass the class of the contended monitor
+   */
+  public void lockWait(
+    String monitorClass,
+    long startMillis,
+    long durationNanos
+  ) {
+    lockWaits.add(new TimedEvent(startMillis, durationNanos));
+    lockWaitNanos.merge(monitorClass, durationNanos, Long::sum);
+  }
+
+  /**
+   * @param tests the tests of the run, to attribute the samples, GC pauses and lock waits to
+   * @return the summary as plain text
+   */
+  public String format(List<TestInterval> tests) {
+    StringBuilder summary = new StringBuilder();
+
+    summary
+      .append("Hot methods (")
+      .append(sampleTimes.size())
+      .append(" execution samples)\n");
+    int methodSampleCount = methodSamples
+      .values()
+      .stream()
+      .mapToInt(Integer::intValue)
+      .sum();
+    top(methodSamples).forEach(entry ->
+      summary.append(
+        String.format(
+          Locale.ROOT,
+          "  %5.1f%%  %s%n",
+          (100.0 * entry.getValue().intValue()) / methodSampleCount,
+          entry.getKey()
+        )
+      )
+    );
+
+    summary
+      .append("\nAllocation pressure (")
+      .append(totalAllocatedBytes / (1024 * 1024))
+      .append(" MB sampled)\n");
+    top(allocatedBytes).forEach(entry ->
+      summary.append(
+        String.format(
+          Locale.ROOT,
+          "  %5.1f%%  %s%n",
+          (100.0 * entry.getValue().longValue()) / totalAllocatedBytes,
+          entry.getKey()
+        )
+      )
+    );
+
+    summary.append(
+      String.format(
+        Locale.ROOT,
+        "%nGC pauses: %d, total %d ms, max %d ms%n",
+        gcPauses.size(),
+        toMillis(gcPauses.stream().mapToLong(TimedEvent::durationNanos).sum()),
+        toMillis(
+          gcPauses.stream().mapToLong(TimedEvent::durationNanos).max().orElse(0)
+        )
+      )
+    );
+
+    summary.append(
+      String.format(
+        Locale.ROOT,
+        "%nLock contention: %d waits, total %d ms%n",
+        lockWaits.size(),
+        toMillis(lockWaits.stream().mapToLong(TimedEvent::durationNanos).sum())
+      )
+    );
+    top(lockWaitNanos).forEach(entry ->
+      summary.append(
+        String.format(
+          Locale.ROOT,
+          "  %6d ms  %s%n",
+          toMillis(entry.getValue().longValue()),
+          entry.getKey()
+        )
+      )
+    );
+
+    if (!tests.isEmpty()) {
+      summary.append("\nTests, slowest first\n");
+      tests
+        .stream()
+        .sorted(
+          Comparator.comparingLong(TestInterval::durationMillis).reversed()
+        )
+        .limit(TOP_ENTRIES)
+        .forEach(test ->
+          summary.append(
+            String.format(
+              Locale.ROOT,
+              "  %7d ms  samples %5d  GC %5d ms  locks %5d ms  %s%n",
+              test.durationMillis(),
+              sampleTimes.stream().filter(test::contains).count(),
+              toMillis(sumDuring(gcPauses, test)),
+              toMillis(sumDuring(lockWaits, test)),
+              test.name()
+            )
+          )
+        );
+    }
+    return summary.toString();
+  }
+
+  private static <T extends Number> List<Map.Entry<String, T>> top(
+    Map<String, T> values
+  ) {
+    return values
+      .entrySet()
+      .stream()
+      .sorted(
+        Comparator.comparingLong(
+          (Map.Entry<String, T> entry) -> entry.getValue().longValue()
+        ).reversed()
+      )
+      .limit(TOP_ENTRIES)
+      .toList();
+  }
+
+  private static long sumDuring(List<TimedEvent> events, TestInterval test) {
+    return events
+      .stream()
+      .filter(event -> test.contains(event.startMillis()))
+      .mapToLong(TimedEvent::durationNanos)
+      .sum();
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
@@ -0,0 +1,18 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+/**
+ * The wall clock interval a test ran in, to attribute the events of a flight recording to it
+ *
+ * @param name        the name of the test
+ * @param startMillis the epoch millis the test started at
+ * @param endMillis   the epoch millis the test finished at
+ */
+public record TestInterval(String name, long startMillis, long endMillis) {
+  public long durationMillis() {
+    return endMillis - startMillis;
+  }
+
+  public boolean contains(long timeMillis) {
+    return timeMillis >= startMillis && timeMillis <= endMillis;
+  }
+}
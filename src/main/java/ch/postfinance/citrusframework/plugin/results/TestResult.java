@@ -0,0 +1,16 @@
+package ch.postfinance.citrusframework.plugin.results;
+
+/**
+ * The result of one execution of a test
+ *
+ * @param timestamp      the end of the run, in epoch milliseconds
+ * @param name           the test name
+ * @param passed         false if the test failed
+ * @param durationMillis the execution duration
+ */
+public record TestResult(
+  long timestamp,
+  String name,
+  boolean passed,
+  long durationMillis
+) {}
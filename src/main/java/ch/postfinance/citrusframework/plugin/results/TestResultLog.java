@@ -0,0 +1,132 @@
+package ch.postfinance.citrusframework.plugin.results;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only binary log of test results. After a header, every result is stored as its timestamp,
+ * name, pass flag and duration. A record truncated by a crash while appending is cut off when the
+ * log is read, so that the next records are appended right after the last complete one.
+ */
+final class TestResultLog {
+
+  private static final int MAGIC = 0x43495452;
+  private static final int VERSION = 1;
+
+  private final Path file;
+
+  TestResultLog(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * @return the logged results in the order they were appended, empty if there is no log
+   * or if it was written by an incompatible version
+   */
+  List<TestResult> read() throws IOException {
+    List<TestResult> results = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return results;
+    }
+
+    byte[] content = Files.readAllBytes(file);
+    ByteArrayInputStream bytes = new ByteArrayInputStream(content);
+    DataInputStream input = new DataInputStream(bytes);
+    int completeLength = 0;
+    try {
+      if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+        return results;
+      }
+      completeLength = content.length - bytes.available();
+      while (bytes.available() > 0) {
+        results.add(
+          new TestResult(
+            input.readLong(),
+            input.readUTF(),
+            input.readBoolean(),
+            input.readLong()
+          )
+        );
+        completeLength = content.length - bytes.available();
+      }
+    } catch (EOFException | UTFDataFormatException e) {
+      // A truncated last record, the next append would be read misaligned after it
+      truncate(completeLength);
+    }
+    return results;
+  }
+
+  void append(List<TestResult> results) throws IOException {
+    boolean newLog = !Files.exists(file) || Files.size(file) == 0;
+    Files.createDirectories(file.getParent());
+    try (
+      OutputStream output = Files.newOutputStream(
+        file,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND
+      )
+    ) {
+      write(output, results, newLog);
+    }
+  }
+
+  /**
+   * Replaces the log with the results, e.g. to drop the results no longer kept. The new log
+   * is written next to the old one and moved over it, so that a crash never loses the log.
+   */
+  void rewrite(List<TestResult> results) throws IOException {
+    Files.createDirectories(file.getParent());
+    Path compactedFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (OutputStream output = Files.newOutputStream(compactedFile)) {
+      write(output, results, true);
+    }
+    Files.move(
+      compactedFile,
+      file,
+      StandardCopyOption.REPLACE_EXISTING,
+      StandardCopyOption.ATOMIC_MOVE
+    );
+  }
+
+  private void truncate(long length) throws IOException {
+    try (
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)
+    ) {
+      channel.truncate(length);
+    }
+  }
+
+  private static void write(
+    OutputStream output,
+    List<TestResult> results,
+    boolean withHeader
+  ) throws IOException {
+    DataOutputStream dataOutput = new DataOutputStream(
+      new BufferedOutputStream(output)
+    );
+    if (withHeader) {
+      dataOutput.writeInt(MAGIC);
+      dataOutput.writeInt(VERSION);
+    }
+    for (TestResult result : results) {
+      dataOutput.writeLong(result.timestamp());
+      dataOutput.writeUTF(result.name());
+      dataOutput.writeBoolean(result.passed());
+      dataOutput.writeLong(result.durationMillis());
+    }
+    dataOutput.flush();
+  }
+}
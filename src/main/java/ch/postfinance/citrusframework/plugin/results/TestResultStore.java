@@ -0,0 +1,156 @@
+package ch.postfinance.citrusframework.plugin.results;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * History of the test results of the runs launched by the plugin, kept in a {@link TestResultLog}
+ * in the system directory of the IDE. Only the last {@value #RESULTS_PER_TEST} results of every test
+ * are kept: the log is compacted once it holds {@value #COMPACTION_THRESHOLD} more records.
+ */
+@Service(Service.Level.PROJECT)
+public final class TestResultStore {
+
+  static final int RESULTS_PER_TEST = 20;
+  static final int COMPACTION_THRESHOLD = 10_000;
+
+  private static final Logger LOG = Logger.getInstance(TestResultStore.class);
+
+  private final TestResultLog log;
+  private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+  private Map<String, Deque<TestResult>> resultsByTest;
+  private int obsoleteRecords;
+
+  public TestResultStore(Project project) {
+    this(
+      new TestResultLog(
+        PathManager.getSystemDir()
+          .resolve("citrus-xml-test-runner")
+          .resolve(project.getLocationHash())
+          .resolve("test-results.log")
+      )
+    );
+  }
+
+  TestResultStore(TestResultLog log) {
+    this.log = log;
+  }
+
+  public static TestResultStore getInstance(Project project) {
+    return project.getService(TestResultStore.class);
+  }
+
+  /**
+   * Appends the results of a run to the history and notifies the change listeners
+   */
+  public void append(List<TestResult> results) {
+    if (results.isEmpty()) {
+      return;
+    }
+
+    synchronized (this) {
+      load();
+      results.forEach(this::add);
+      try {
+        log.append(results);
+        if (obsoleteRecords >= COMPACTION_THRESHOLD) {
+          compact();
+        }
+      } catch (IOException e) {
+        LOG.warn("The citrus test results could not be stored", e);
+      }
+    }
+    changeListeners.forEach(Runnable::run);
+  }
+
+  /**
+   * @return the statistics of every recorded test, slowest first
+   */
+  public synchronized List<TestStatistics> getStatistics() {
+    load();
+    List<TestStatistics> statistics = new ArrayList<>(resultsByTest.size());
+    resultsByTest.forEach((name, results) ->
+      statistics.add(TestStatistics.of(name, List.copyOf(results)))
+    );
+    statistics.sort(
+      Comparator.comparingLong(TestStatistics::averageDurationMillis).reversed()
+    );
+    return statistics;
+  }
+
+  /**
+   * @return the names of the tests whose last recorded run failed
+   */
+  public synchronized Set<String> getFailedTests() {
+    load();
+    Set<String> failedTests = new HashSet<>();
+    resultsByTest.forEach((name, results) -> {
+      if (!results.getLast().passed()) {
+        failedTests.add(name);
+      }
+    });
+    return failedTests;
+  }
+
+  /**
+   * @param listener notified after results were appended, on the thread appending them
+   * @param parent   removes the listener once disposed
+   */
+  public void addChangeListener(Runnable listener, Disposable parent) {
+    changeListeners.add(listener);
+    Disposer.register(parent, () -> changeListeners.remove(listener));
+  }
+
+  private void load() {
+    if (!isNull(resultsByTest)) {
+      return;
+    }
+
+    resultsByTest = new HashMap<>();
+    try {
+      log.read().forEach(this::add);
+      if (obsoleteRecords >= COMPACTION_THRESHOLD) {
+        compact();
+      }
+    } catch (IOException e) {
+      LOG.warn("The citrus test results could not be read", e);
+    }
+  }
+
+  private void add(TestResult result) {
+    Deque<TestResult> results = resultsByTest.computeIfAbsent(
+      result.name(),
+      name -> new ArrayDeque<>(RESULTS_PER_TEST)
+    );
+    results.addLast(result);
+    if (results.size() > RESULTS_PER_TEST) {
+      results.removeFirst();
+      obsoleteRecords++;
+    }
+  }
+
+  private void compact() throws IOException {
+    List<TestResult> keptResults = new ArrayList<>();
+    resultsByTest.values().forEach(keptResults::addAll);
+    keptResults.sort(Comparator.comparingLong(TestResult::timestamp));
+    log.rewrite(keptResults);
+    obsoleteRecords = 0;
+  }
+}
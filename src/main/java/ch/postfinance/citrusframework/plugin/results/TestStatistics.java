@@ -0,0 +1,82 @@
+package ch.postfinance.citrusframework.plugin.results;
+
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Statistics of a test over the recorded runs
+ *
+ * @param name                  the test name
+ * @param runs                  the number of recorded runs
+ * @param failures              the number of failed runs
+ * @param lastPassed            false if the last run failed
+ * @param lastDurationMillis    the duration of the last run
+ * @param averageDurationMillis the average duration of all runs
+ * @param regression            the regression of the last run, null if there is none
+ */
+public record TestStatistics(
+  String name,
+  int runs,
+  int failures,
+  boolean lastPassed,
+  long lastDurationMillis,
+  long averageDurationMillis,
+  @Nullable String regression
+) {
+  // A run is a slowdown if it is 50% and at least 100 ms slower than the average of the previous runs
+  static final double SLOWDOWN_FACTOR = 1.5;
+  static final long SLOWDOWN_MIN_MILLIS = 100;
+
+  /**
+   * @param name    the test name
+   * @param results the recorded results of the test, oldest first, not empty
+   */
+  static TestStatistics of(String name, List<TestResult> results) {
+    TestResult last = results.getLast();
+    int failures = 0;
+    long totalDurationMillis = 0;
+    for (TestResult result : results) {
+      if (!result.passed()) {
+        failures++;
+      }
+      totalDurationMillis += result.durationMillis();
+    }
+
+    return new TestStatistics(
+      name,
+      results.size(),
+      failures,
+      last.passed(),
+      last.durationMillis(),
+      totalDurationMillis / results.size(),
+      regression(results, totalDurationMillis - last.durationMillis())
+    );
+  }
+
+  private static @Nullable String regression(
+    List<TestResult> results,
+    long previousDurationMillis
+  ) {
+    if (results.size() < 2) {
+      return null;
+    }
+
+    TestResult last = results.getLast();
+    if (!last.passed() && results.get(results.size() - 2).passed()) {
+      return "Newly failing";
+    }
+
+    long previousAverageMillis = previousDurationMillis / (results.size() - 1);
+    if (
+      previousAverageMillis > 0 &&
+      last.durationMillis() > previousAverageMillis * SLOWDOWN_FACTOR &&
+      last.durationMillis() - previousAverageMillis >= SLOWDOWN_MIN_MILLIS
+    ) {
+      return String.format(
+        "Slower x%.1f",
+        (double) last.durationMillis() / previousAverageMillis
+      );
+    }
+    return null;
+  }
+}
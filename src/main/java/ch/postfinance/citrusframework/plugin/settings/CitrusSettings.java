@@ -0,0 +1,111 @@
+package ch.postfinance.citrusframework.plugin.settings;
+
+import ch.postfinance.citrusframework.plugin.load.LoadProfile;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Project settings of the plugin, editable in Settings | Tools | Citrus XML Test Runner
+ */
+@Service(Service.Level.PROJECT)
+@State(
+  name = "CitrusXmlTestRunnerSettings",
+  storages = @Storage("citrusXmlTestRunner.xml")
+)
+public final class CitrusSettings
+  implements PersistentStateComponent<CitrusSettings.SettingsState>
+{
+
+  private SettingsState state = new SettingsState();
+
+  public static CitrusSettings getInstance(Project project) {
+    return project.getService(CitrusSettings.class);
+  }
+
+  @Override
+  public @NotNull SettingsState getState() {
+    return state;
+  }
+
+  @Override
+  public void loadState(@NotNull SettingsState state) {
+    this.state = state;
+  }
+
+  /**
+   * @return the number of shards a sharded run is split into, the number of cores if not configured
+   */
+  public int getShardCount() {
+    return state.shardCount > 0
+      ? state.shardCount
+      : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * @return the number of configurations of a batch run running at a time, the number of cores
+   * if not configured
+   */
+  public int getBatchConcurrency() {
+    return state.batchConcurrency > 0
+      ? state.batchConcurrency
+      : Runtime.getRuntime().availableProcessors();
+  }
+
+  public boolean isPreflightValidation() {
+    return state.preflightValidation;
+  }
+
+  public boolean isExactSelection() {
+    return state.exactSelection;
+  }
+
+  public boolean isFastRelaunch() {
+    return state.fastRelaunch;
+  }
+
+  public boolean isDaemonMode() {
+    return state.daemonMode;
+  }
+
+  public boolean isTelemetry() {
+    return state.telemetry;
+  }
+
+  /**
+   * @return the profile of the last load test, proposed for the next one
+   */
+  public LoadProfile getLoadProfile() {
+    return new LoadProfile(
+      state.loadIterations,
+      state.loadDurationSeconds,
+      state.loadConcurrency
+    );
+  }
+
+  public void setLoadProfile(LoadProfile loadProfile) {
+    state.loadIterations = loadProfile.iterations();
+    state.loadDurationSeconds = loadProfile.durationSeconds();
+    state.loadConcurrency = loadProfile.concurrency();
+  }
+
+  public static class SettingsState {
+
+    // 0 means one shard per core
+    public int shardCount;
+    // 0 means one configuration per core
+    public int batchConcurrency;
+    public boolean preflightValidation = true;
+    public boolean exactSelection;
+    public boolean fastRelaunch;
+    public boolean daemonMode;
+    public boolean telemetry;
+    public int loadIterations = 100;
+    // 0 means the iterations are run
+    public int loadDurationSeconds;
+    public int loadConcurrency = 1;
+  }
+}
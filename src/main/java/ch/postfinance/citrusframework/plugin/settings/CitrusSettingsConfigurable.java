@@ -0,0 +1,129 @@
+package ch.postfinance.citrusframework.plugin.settings;
+
+import ch.postfinance.citrusframework.plugin.daemon.CitrusDaemon;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.ui.FormBuilder;
+import javax.swing.*;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Settings page of the plugin
+ */
+public class CitrusSettingsConfigurable implements Configurable {
+
+  private static final String DISPLAY_NAME = "Citrus XML Test Runner";
+
+  private final Project project;
+  private final CitrusSettings settings;
+  private JSpinner shardCountSpinner;
+  private JSpinner batchConcurrencySpinner;
+  private JCheckBox preflightValidationCheckBox;
+  private JCheckBox exactSelectionCheckBox;
+  private JCheckBox fastRelaunchCheckBox;
+  private JCheckBox daemonModeCheckBox;
+  private JCheckBox telemetryCheckBox;
+
+  public CitrusSettingsConfigurable(Project project) {
+    this.project = project;
+    this.settings = CitrusSettings.getInstance(project);
+  }
+
+  @Override
+  public @Nls String getDisplayName() {
+    return DISPLAY_NAME;
+  }
+
+  @Override
+  public @Nullable JComponent createComponent() {
+    shardCountSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 256, 1));
+    batchConcurrencySpinner = new JSpinner(
+      new SpinnerNumberModel(0, 0, 256, 1)
+    );
+    preflightValidationCheckBox = new JCheckBox(
+      "Pre-flight validation: check the selected tests for malformed XML and missing files before launching"
+    );
+    exactSelectionCheckBox = new JCheckBox(
+      "Exact selection: run only the selected tests, not every test whose name contains theirs"
+    );
+    fastRelaunchCheckBox = new JCheckBox(
+      "Fast relaunch: skip the build if only XML test resources changed since the last run"
+    );
+    daemonModeCheckBox = new JCheckBox(
+      "Daemon mode: keep the runner alive and send it the tests of the next runs"
+    );
+    telemetryCheckBox = new JCheckBox(
+      "Telemetry: sample heap, GC, threads and CPU of the test process once per second"
+    );
+    return FormBuilder.createFormBuilder()
+      .addLabeledComponent(
+        "Shards of a sharded run (0 = one per core):",
+        shardCountSpinner
+      )
+      .addLabeledComponent(
+        "Configurations of a batch run at a time (0 = one per core):",
+        batchConcurrencySpinner
+      )
+      .addComponent(preflightValidationCheckBox)
+      .addComponent(exactSelectionCheckBox)
+      .addComponent(fastRelaunchCheckBox)
+      .addComponent(daemonModeCheckBox)
+      .addComponent(telemetryCheckBox)
+      .addComponentFillVertically(new JPanel(), 0)
+      .getPanel();
+  }
+
+  @Override
+  public boolean isModified() {
+    CitrusSettings.SettingsState state = settings.getState();
+    return (
+      (int) shardCountSpinner.getValue() != state.shardCount ||
+      (int) batchConcurrencySpinner.getValue() != state.batchConcurrency ||
+      preflightValidationCheckBox.isSelected() != state.preflightValidation ||
+      exactSelectionCheckBox.isSelected() != state.exactSelection ||
+      fastRelaunchCheckBox.isSelected() != state.fastRelaunch ||
+      daemonModeCheckBox.isSelected() != state.daemonMode ||
+      telemetryCheckBox.isSelected() != state.telemetry
+    );
+  }
+
+  @Override
+  public void apply() {
+    CitrusSettings.SettingsState state = settings.getState();
+    state.shardCount = (int) shardCountSpinner.getValue();
+    state.batchConcurrency = (int) batchConcurrencySpinner.getValue();
+    state.preflightValidation = preflightValidationCheckBox.isSelected();
+    state.exactSelection = exactSelectionCheckBox.isSelected();
+    state.fastRelaunch = fastRelaunchCheckBox.isSelected();
+    if (state.daemonMode && !daemonModeCheckBox.isSelected()) {
+      // No later run would reuse or recycle the runner
+      CitrusDaemon.getInstance(project).stop();
+    }
+    state.daemonMode = daemonModeCheckBox.isSelected();
+    state.telemetry = telemetryCheckBox.isSelected();
+  }
+
+  @Override
+  public void reset() {
+    CitrusSettings.SettingsState state = settings.getState();
+    shardCountSpinner.setValue(state.shardCount);
+    batchConcurrencySpinner.setValue(state.batchConcurrency);
+    preflightValidationCheckBox.setSelected(state.preflightValidation);
+    exactSelectionCheckBox.setSelected(state.exactSelection);
+    fastRelaunchCheckBox.setSelected(state.fastRelaunch);
+    daemonModeCheckBox.setSelected(state.daemonMode);
+    telemetryCheckBox.setSelected(state.telemetry);
+  }
+
+  @Override
+  public void disposeUIResources() {
+    shardCountSpinner = null;
+    batchConcurrencySpinner = null;
+    preflightValidationCheckBox = null;
+    exactSelectionCheckBox = null;
+    fastRelaunchCheckBox = null;
+    daemonModeCheckBox = null;
+    telemetryCheckBox = null;
+  }
+}
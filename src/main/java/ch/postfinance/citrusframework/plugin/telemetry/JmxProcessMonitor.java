@@ -0,0 +1,131 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+import static java.util.Objects.nonNull;
+
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Samples a local JVM through its platform MXBeans. The JVM is attached to with the attach API,
+ * which starts its local management agent if needed, so the tests need no JMX options.
+ */
+public class JmxProcessMonitor implements Closeable {
+
+  private final JMXConnector connector;
+  private final MemoryMXBean memory;
+  private final List<MemoryPoolMXBean> heapPools;
+  private final List<GarbageCollectorMXBean> garbageCollectors;
+  private final ThreadMXBean threads;
+  private final com.sun.management.OperatingSystemMXBean operatingSystem;
+
+  private JmxProcessMonitor(JMXConnector connector) throws IOException {
+    this.connector = connector;
+    MBeanServerConnection connection = connector.getMBeanServerConnection();
+    this.memory = ManagementFactory.getPlatformMXBean(
+      connection,
+      MemoryMXBean.class
+    );
+    this.heapPools = ManagementFactory.getPlatformMXBeans(
+      connection,
+      MemoryPoolMXBean.class
+    )
+      .stream()
+      .filter(pool -> pool.getType() == MemoryType.HEAP)
+      .toList();
+    this.garbageCollectors = ManagementFactory.getPlatformMXBeans(
+      connection,
+      GarbageCollectorMXBean.class
+    );
+    this.threads = ManagementFactory.getPlatformMXBean(
+      connection,
+      ThreadMXBean.class
+    );
+    this.operatingSystem = ManagementFactory.getPlatformMXBean(
+      connection,
+      com.sun.management.OperatingSystemMXBean.class
+    );
+  }
+
+  /**
+   * @param pid the process id of a JVM of the current user
+   * @return a monitor connected to the JVM, to be closed once the process exited
+   * @throws IOException if the JVM cannot be attached to or its management agent not reached
+   */
+  public static JmxProcessMonitor attach(long pid) throws IOException {
+    String connectorAddress;
+    try {
+      VirtualMachine virtualMachine = VirtualMachine.attach(
+        Long.toString(pid)
+      );
+      try {
+        connectorAddress = virtualMachine.startLocalManagementAgent();
+      } finally {
+        virtualMachine.detach();
+      }
+    } catch (AttachNotSupportedException e) {
+      throw new IOException(e);
+    }
+
+    JMXConnector connector = JMXConnectorFactory.connect(
+      new JMXServiceURL(connectorAddress)
+    );
+    try {
+      return new JmxProcessMonitor(connector);
+    } catch (IOException | RuntimeException e) {
+      connector.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @param test the test currently running, null between tests
+   * @throws IOException if the JVM exited
+   */
+  public TelemetrySample sample(@Nullable String test) throws IOException {
+    try {
+      long heapAfterGcBytes = 0;
+      for (MemoryPoolMXBean heapPool : heapPools) {
+        MemoryUsage collectionUsage = heapPool.getCollectionUsage();
+        if (nonNull(collectionUsage)) {
+          heapAfterGcBytes += collectionUsage.getUsed();
+        }
+      }
+      long gcTimeMillis = 0;
+      for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+        gcTimeMillis += Math.max(0, garbageCollector.getCollectionTime());
+      }
+      return new TelemetrySample(
+        System.currentTimeMillis(),
+        memory.getHeapMemoryUsage().getUsed(),
+        heapAfterGcBytes,
+        gcTimeMillis,
+        threads.getThreadCount(),
+        operatingSystem.getProcessCpuLoad(),
+        test
+      );
+    } catch (RuntimeException e) {
+      // The proxies wrap the connection failures into undeclared exceptions
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    connector.close();
+  }
+}
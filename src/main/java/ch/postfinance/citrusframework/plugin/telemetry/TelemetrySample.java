@@ -0,0 +1,25 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One sample of the JVM running the tests
+ *
+ * @param timestampMillis  when the sample was taken
+ * @param heapUsedBytes    the used heap
+ * @param heapAfterGcBytes the heap still used after the last collection of every heap pool,
+ *                         the memory retained by the tests
+ * @param gcTimeMillis     the total time spent in garbage collections since the JVM started
+ * @param threadCount      the live threads
+ * @param cpuLoad          the CPU load of the process between 0 and 1, negative if unavailable
+ * @param test             the test running when the sample was taken, null between tests
+ */
+public record TelemetrySample(
+  long timestampMillis,
+  long heapUsedBytes,
+  long heapAfterGcBytes,
+  long gcTimeMillis,
+  int threadCount,
+  double cpuLoad,
+  @Nullable String test
+) {}
@@ -0,0 +1,168 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.execution.CitrusRun;
+import com.intellij.execution.process.BaseProcessHandler;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessListener;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Samples the processes of the runs launched by the plugin once per second over JMX,
+ * annotating every sample with the test running at that time
+ */
+@Service(Service.Level.PROJECT)
+public final class TelemetryService implements Disposable {
+
+  private static final Logger LOG = Logger.getInstance(TelemetryService.class);
+
+  // The JVM may not accept attach requests right after its start
+  private static final int MAX_ATTACH_ATTEMPTS = 10;
+
+  private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+  private final Set<Sampler> samplers = ConcurrentHashMap.newKeySet();
+  private volatile @Nullable TelemetryTimeline timeline;
+
+  public static TelemetryService getInstance(Project project) {
+    return project.getService(TelemetryService.class);
+  }
+
+  /**
+   * Starts sampling the process until it terminates. The samples replace those of the
+   * previous run.
+   */
+  public void processStarted(ProcessHandler processHandler, CitrusRun run) {
+    if (!(processHandler instanceof BaseProcessHandler<?> baseProcessHandler)) {
+      return;
+    }
+
+    Sampler sampler = new Sampler(
+      baseProcessHandler.getProcess().pid(),
+      run,
+      new TelemetryTimeline(run.getName())
+    );
+    timeline = sampler.timeline;
+    samplers.add(sampler);
+    sampler.future =
+      AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+        sampler,
+        1,
+        1,
+        TimeUnit.SECONDS
+      );
+    processHandler.addProcessListener(
+      new ProcessListener() {
+        @Override
+        public void processTerminated(@NotNull ProcessEvent event) {
+          sampler.stop();
+        }
+      },
+      this
+    );
+    if (processHandler.isProcessTerminated()) {
+      sampler.stop();
+    }
+    fireChanged();
+  }
+
+  /**
+   * @return the samples of the last sampled run, null if none was sampled yet
+   */
+  public @Nullable TelemetryTimeline getTimeline() {
+    return timeline;
+  }
+
+  /**
+   * @param listener notified after a sample was taken, on the sampling thread
+   * @param parent   removes the listener once disposed
+   */
+  public void addChangeListener(Runnable listener, Disposable parent) {
+    changeListeners.add(listener);
+    Disposer.register(parent, () -> changeListeners.remove(listener));
+  }
+
+  @Override
+  public void dispose() {
+    samplers.forEach(Sampler::stop);
+  }
+
+  private void fireChanged() {
+    changeListeners.forEach(Runnable::run);
+  }
+
+  private class Sampler implements Runnable {
+
+    private final long pid;
+    private final CitrusRun run;
+    private final TelemetryTimeline timeline;
+    private volatile ScheduledFuture<?> future;
+    private JmxProcessMonitor monitor;
+    private int attachAttempts;
+    private boolean stopped;
+
+    Sampler(long pid, CitrusRun run, TelemetryTimeline timeline) {
+      this.pid = pid;
+      this.run = run;
+      this.timeline = timeline;
+    }
+
+    @Override
+    public synchronized void run() {
+      if (stopped) {
+        // Stopped before the sampler was scheduled
+        future.cancel(false);
+        return;
+      }
+      try {
+        if (isNull(monitor)) {
+          attachAttempts++;
+          monitor = JmxProcessMonitor.attach(pid);
+        }
+        timeline.add(monitor.sample(run.getCurrentTest()));
+        fireChanged();
+      } catch (IOException e) {
+        if (nonNull(monitor) || attachAttempts >= MAX_ATTACH_ATTEMPTS) {
+          LOG.info(
+            "Stopped sampling " + run.getName() + ": " + e.getMessage()
+          );
+          stop();
+        }
+      }
+    }
+
+    synchronized void stop() {
+      if (stopped) {
+        return;
+      }
+      stopped = true;
+      samplers.remove(this);
+      if (nonNull(future)) {
+        future.cancel(false);
+      }
+      if (nonNull(monitor)) {
+        try {
+          monitor.close();
+        } catch (IOException e) {
+          LOG.debug(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The samples of one run, the oldest dropped beyond an hour of sampling.
+ * The change between two samples is attributed to the test running at the later one,
+ * so that a test shorter than the sampling period still gets the garbage collections
+ * and the retained heap growth observed right after it.
+ */
+public class TelemetryTimeline {
+
+  static final int MAX_SAMPLES = 3_600;
+
+  private final String runName;
+  private final Deque<TelemetrySample> samples = new ArrayDeque<>();
+
+  public TelemetryTimeline(String runName) {
+    this.runName = runName;
+  }
+
+  public String getRunName() {
+    return runName;
+  }
+
+  public synchronized void add(TelemetrySample sample) {
+    if (samples.size() == MAX_SAMPLES) {
+      samples.removeFirst();
+    }
+    samples.addLast(sample);
+  }
+
+  public synchronized @Nullable TelemetrySample getLatest() {
+    return samples.peekLast();
+  }
+
+  /**
+   * @return the telemetry of every sampled test, the highest retained heap growth first
+   */
+  public List<TestTelemetry> perTest() {
+    List<TelemetrySample> snapshot;
+    synchronized (this) {
+      snapshot = List.copyOf(samples);
+    }
+
+    Map<String, Accumulator> accumulators = new LinkedHashMap<>();
+    TelemetrySample previous = null;
+    for (TelemetrySample sample : snapshot) {
+      if (nonNull(sample.test())) {
+        accumulators
+          .computeIfAbsent(sample.test(), test -> new Accumulator())
+          .add(previous, sample);
+      }
+      previous = sample;
+    }
+
+    List<TestTelemetry> telemetry = new ArrayList<>(accumulators.size());
+    accumulators.forEach((test, accumulator) ->
+      telemetry.add(accumulator.toTelemetry(test))
+    );
+    telemetry.sort(
+      Comparator.comparingLong(TestTelemetry::heapGrowthBytes).reversed()
+    );
+    return telemetry;
+  }
+
+  private static class Accumulator {
+
+    private int samples;
+    private long heapGrowthBytes;
+    private long gcTimeMillis;
+    private long maxHeapUsedBytes;
+    private int maxThreadCount;
+    private int cpuSamples;
+    private double cpuLoadSum;
+
+    void add(@Nullable TelemetrySample previous, TelemetrySample sample) {
+      samples++;
+      if (nonNull(previous)) {
+        heapGrowthBytes +=
+          sample.heapAfterGcBytes() - previous.heapAfterGcBytes();
+        gcTimeMillis += sample.gcTimeMillis() - previous.gcTimeMillis();
+      }
+      maxHeapUsedBytes = Math.max(maxHeapUsedBytes, sample.heapUsedBytes());
+      maxThreadCount = Math.max(maxThreadCount, sample.threadCount());
+      if (sample.cpuLoad() >= 0) {
+        cpuSamples++;
+        cpuLoadSum += sample.cpuLoad();
+      }
+    }
+
+    TestTelemetry toTelemetry(String test) {
+      return new TestTelemetry(
+        test,
+        samples,
+        heapGrowthBytes,
+        gcTimeMillis,
+        maxHeapUsedBytes,
+        maxThreadCount,
+        cpuSamples > 0 ? cpuLoadSum * 100 / cpuSamples : -1
+      );
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+/**
+ * The telemetry of a test, summed over the samples taken while it ran
+ *
+ * @param test              the name of the test
+ * @param samples           the samples taken while the test ran
+ * @param heapGrowthBytes   the growth of the heap used after garbage collections, a steadily
+ *                          positive growth points to a leak
+ * @param gcTimeMillis      the time spent in garbage collections
+ * @param maxHeapUsedBytes  the highest used heap
+ * @param maxThreadCount    the most live threads
+ * @param averageCpuPercent the average CPU load of the process, negative if unavailable
+ */
+public record TestTelemetry(
+  String test,
+  int samples,
+  long heapGrowthBytes,
+  long gcTimeMillis,
+  long maxHeapUsedBytes,
+  int maxThreadCount,
+  double averageCpuPercent
+) {}
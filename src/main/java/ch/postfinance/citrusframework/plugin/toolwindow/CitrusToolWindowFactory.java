@@ -0,0 +1,83 @@
+package ch.postfinance.citrusframework.plugin.toolwindow;
+
+import static java.util.Objects.isNull;
+
+import com.intellij.openapi.editor.ex.util.EditorUtil;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.content.ContentManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The Citrus tool window, showing the results recorded from the runs launched by the plugin,
+ * the live telemetry of their processes and the summaries of the profiled runs and load tests
+ */
+public class CitrusToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+  public static final String TOOL_WINDOW_ID = "Citrus";
+
+  @Override
+  public void createToolWindowContent(
+    @NotNull Project project,
+    @NotNull ToolWindow toolWindow
+  ) {
+    TestResultsPanel testResultsPanel = new TestResultsPanel(project);
+    Content content = ContentFactory.getInstance().createContent(
+      testResultsPanel,
+      "Test Results",
+      false
+    );
+    content.setDisposer(testResultsPanel);
+    toolWindow.getContentManager().addContent(content);
+
+    TelemetryPanel telemetryPanel = new TelemetryPanel(project);
+    Content telemetryContent = ContentFactory.getInstance().createContent(
+      telemetryPanel,
+      "Telemetry",
+      false
+    );
+    telemetryContent.setDisposer(telemetryPanel);
+    toolWindow.getContentManager().addContent(telemetryContent);
+  }
+
+  /**
+   * Adds a closeable tab with the summary of a profiled run or a load test and shows it
+   *
+   * @param project the project
+   * @param title   the title of the tab
+   * @param summary the plain text summary
+   */
+  public static void showReport(
+    Project project,
+    String title,
+    String summary
+  ) {
+    ToolWindow toolWindow = ToolWindowManager.getInstance(
+      project
+    ).getToolWindow(TOOL_WINDOW_ID);
+    if (isNull(toolWindow)) {
+      return;
+    }
+
+    JBTextArea summaryArea = new JBTextArea(summary);
+    summaryArea.setEditable(false);
+    summaryArea.setFont(EditorUtil.getEditorFont());
+    Content content = ContentFactory.getInstance().createContent(
+      ScrollPaneFactory.createScrollPane(summaryArea),
+      title,
+      false
+    );
+    content.setCloseable(true);
+    ContentManager contentManager = toolWindow.getContentManager();
+    contentManager.addContent(content);
+    contentManager.setSelectedContent(content);
+    toolWindow.activate(null);
+  }
+}
@@ -0,0 +1,139 @@
+package ch.postfinance.citrusframework.plugin.toolwindow;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.telemetry.TelemetrySample;
+import ch.postfinance.citrusframework.plugin.telemetry.TelemetryService;
+import ch.postfinance.citrusframework.plugin.telemetry.TelemetryTimeline;
+import ch.postfinance.citrusframework.plugin.telemetry.TestTelemetry;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.ListTableModel;
+import java.awt.BorderLayout;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.JPanel;
+import javax.swing.SortOrder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Live telemetry of the last sampled run: the latest sample with the running test,
+ * and the telemetry per test, the highest retained heap growth first
+ */
+public class TelemetryPanel extends SimpleToolWindowPanel implements Disposable {
+
+  private static final int HEAP_GROWTH_COLUMN = 2;
+  private static final long MB = 1024 * 1024;
+
+  private final TelemetryService telemetryService;
+  private final ListTableModel<TestTelemetry> tableModel;
+  private final JBLabel latestSampleLabel = new JBLabel();
+
+  public TelemetryPanel(Project project) {
+    super(true, true);
+    this.telemetryService = TelemetryService.getInstance(project);
+    this.tableModel = new ListTableModel<>(
+      new ColumnInfo[] {
+        column("Test", TestTelemetry::test),
+        column("Samples", TestTelemetry::samples),
+        column("Heap Growth MB", telemetry ->
+          megabytes(telemetry.heapGrowthBytes())
+        ),
+        column("GC ms", TestTelemetry::gcTimeMillis),
+        column("Max Heap MB", telemetry ->
+          megabytes(telemetry.maxHeapUsedBytes())
+        ),
+        column("Max Threads", TestTelemetry::maxThreadCount),
+        column("Avg CPU %", telemetry ->
+          Math.round(telemetry.averageCpuPercent())
+        ),
+      },
+      List.of(),
+      HEAP_GROWTH_COLUMN,
+      SortOrder.DESCENDING
+    );
+
+    latestSampleLabel.setBorder(JBUI.Borders.empty(4, 8));
+    JPanel content = new JPanel(new BorderLayout());
+    content.add(latestSampleLabel, BorderLayout.NORTH);
+    content.add(
+      ScrollPaneFactory.createScrollPane(new TableView<>(tableModel)),
+      BorderLayout.CENTER
+    );
+    setContent(content);
+
+    telemetryService.addChangeListener(
+      () -> ApplicationManager.getApplication().invokeLater(this::refresh),
+      this
+    );
+    refresh();
+  }
+
+  private void refresh() {
+    TelemetryTimeline timeline = telemetryService.getTimeline();
+    if (isNull(timeline)) {
+      latestSampleLabel.setText(
+        "Enable the telemetry in the settings and run XML tests to sample their process"
+      );
+      return;
+    }
+
+    TelemetrySample latest = timeline.getLatest();
+    latestSampleLabel.setText(
+      nonNull(latest)
+        ? format(timeline.getRunName(), latest)
+        : timeline.getRunName() + ": attaching to the process"
+    );
+    tableModel.setItems(timeline.perTest());
+  }
+
+  private static String format(String runName, TelemetrySample sample) {
+    return String.format(
+      "%s: heap %d MB (%d MB after GC), GC %d ms, %d threads, CPU %s, running %s",
+      runName,
+      megabytes(sample.heapUsedBytes()),
+      megabytes(sample.heapAfterGcBytes()),
+      sample.gcTimeMillis(),
+      sample.threadCount(),
+      sample.cpuLoad() >= 0
+        ? Math.round(sample.cpuLoad() * 100) + "%"
+        : "n/a",
+      nonNull(sample.test()) ? sample.test() : "no test"
+    );
+  }
+
+  private static long megabytes(long bytes) {
+    return bytes / MB;
+  }
+
+  @Override
+  public void dispose() {
+    // The change listener is removed with the panel
+  }
+
+  private static <T extends Comparable<T>> ColumnInfo<
+    TestTelemetry,
+    T
+  > column(String name, Function<TestTelemetry, T> valueFunction) {
+    return new ColumnInfo<>(name) {
+      @Override
+      public @Nullable T valueOf(TestTelemetry telemetry) {
+        return valueFunction.apply(telemetry);
+      }
+
+      @Override
+      public @Nullable Comparator<TestTelemetry> getComparator() {
+        return Comparator.comparing(valueFunction);
+      }
+    };
+  }
+}
@@ -0,0 +1,173 @@
+package ch.postfinance.citrusframework.plugin.toolwindow;
+
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.results.TestResultStore;
+import ch.postfinance.citrusframework.plugin.results.TestStatistics;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.DumbAwareToggleAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import javax.swing.SortOrder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Table of the recorded test results: the slowest tests first, and the regressions of the last run
+ */
+public class TestResultsPanel extends SimpleToolWindowPanel implements Disposable {
+
+  private static final int AVERAGE_COLUMN = 5;
+
+  private final TestResultStore testResultStore;
+  private final ListTableModel<TestStatistics> tableModel;
+  private final Executor refreshExecutor =
+    AppExecutorUtil.createBoundedApplicationPoolExecutor(
+      "Citrus Test Results",
+      1
+    );
+  private volatile boolean regressionsOnly;
+  private volatile boolean disposed;
+
+  public TestResultsPanel(Project project) {
+    super(true, true);
+    this.testResultStore = TestResultStore.getInstance(project);
+    this.tableModel = new ListTableModel<>(
+      new ColumnInfo[] {
+        column("Test", TestStatistics::name),
+        column("Runs", TestStatistics::runs),
+        column("Failures", TestStatistics::failures),
+        column("Last Result", statistics ->
+          statistics.lastPassed() ? "Passed" : "Failed"
+        ),
+        column("Last ms", TestStatistics::lastDurationMillis),
+        column("Avg ms", TestStatistics::averageDurationMillis),
+        column("Regression", statistics ->
+          nonNull(statistics.regression()) ? statistics.regression() : ""
+        ),
+      },
+      List.of(),
+      AVERAGE_COLUMN,
+      SortOrder.DESCENDING
+    );
+
+    TableView<TestStatistics> table = new TableView<>(tableModel);
+    setContent(ScrollPaneFactory.createScrollPane(table));
+    ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar(
+      "CitrusTestResults",
+      new DefaultActionGroup(new RefreshAction(), new RegressionsOnlyAction()),
+      true
+    );
+    toolbar.setTargetComponent(table);
+    setToolbar(toolbar.getComponent());
+
+    testResultStore.addChangeListener(this::refresh, this);
+    refresh();
+  }
+
+  /**
+   * Loads the statistics, which may read and compact the whole result log, in the background
+   * and shows them on the UI thread. The loads run one at a time, so the last one wins.
+   */
+  private void refresh() {
+    boolean showRegressionsOnly = regressionsOnly;
+    refreshExecutor.execute(() -> {
+      List<TestStatistics> statistics = testResultStore.getStatistics();
+      List<TestStatistics> items = showRegressionsOnly
+        ? statistics
+          .stream()
+          .filter(testStatistics -> nonNull(testStatistics.regression()))
+          .toList()
+        : statistics;
+      ApplicationManager.getApplication()
+        .invokeLater(
+          () -> tableModel.setItems(items),
+          ModalityState.any(),
+          expired -> disposed
+        );
+    });
+  }
+
+  @Override
+  public void dispose() {
+    // The change listener is removed with the panel
+    disposed = true;
+  }
+
+  private static <T extends Comparable<T>> ColumnInfo<
+    TestStatistics,
+    T
+  > column(String name, Function<TestStatistics, T> valueFunction) {
+    return new ColumnInfo<>(name) {
+      @Override
+      public @Nullable T valueOf(TestStatistics statistics) {
+        return valueFunction.apply(statistics);
+      }
+
+      @Override
+      public @Nullable Comparator<TestStatistics> getComparator() {
+        return Comparator.comparing(valueFunction);
+      }
+    };
+  }
+
+  private class RefreshAction extends DumbAwareAction {
+
+    RefreshAction() {
+      super("Refresh", "Reload the test results", AllIcons.Actions.Refresh);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+      refresh();
+    }
+  }
+
+  private class RegressionsOnlyAction extends DumbAwareToggleAction {
+
+    RegressionsOnlyAction() {
+      super(
+        "Regressions Only",
+        "Show only the tests that failed or slowed down in their last run",
+        AllIcons.General.Filter
+      );
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+      return ActionUpdateThread.EDT;
+    }
+
+    @Override
+    public boolean isSelected(@NotNull AnActionEvent anActionEvent) {
+      return regressionsOnly;
+    }
+
+    @Override
+    public void setSelected(
+      @NotNull AnActionEvent anActionEvent,
+      boolean state
+    ) {
+      regressionsOnly = state;
+      refresh();
+    }
+  }
+}
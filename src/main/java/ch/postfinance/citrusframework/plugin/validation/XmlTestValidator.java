@@ -0,0 +1,187 @@
+package ch.postfinance.citrusframework.plugin.validation;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import ch.postfinance.citrusframework.plugin.CitrusTestDetector;
+import ch.postfinance.citrusframework.plugin.index.CitrusReferences;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pre-flight checks of citrus XML tests, run in the IDE before a JVM is launched: the test must
+ * be well-formed XML, and the resources it references, e.g. payload files, must exist.
+ * The result of reading a test is cached on the file until its modification stamp changes, while
+ * the references are resolved on every check, as the referenced files may have been created since.
+ */
+public final class XmlTestValidator {
+
+  private static final Key<FileCheck> FILE_CHECK = Key.create(
+    "ch.postfinance.citrusframework.plugin.XmlTestFileCheck"
+  );
+
+  // The tests are checked in parallel and the factories are not guaranteed to be thread safe
+  private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY =
+    ThreadLocal.withInitial(CitrusTestDetector::createXmlInputFactory);
+
+  private XmlTestValidator() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * A problem of a test, lines and columns start at 1
+   */
+  public record Problem(
+    VirtualFile file,
+    int line,
+    int column,
+    String message
+  ) {
+    public String getLocation() {
+      return file.getName() + ":" + line;
+    }
+  }
+
+  /**
+   * @param syntaxError     the first syntax error, null if the test is well-formed
+   * @param referencedFiles the names of the referenced files, with the line of their first use
+   */
+  public record FileCheck(
+    long modificationStamp,
+    @Nullable Problem syntaxError,
+    Map<String, Integer> referencedFiles
+  ) {}
+
+  /**
+   * Reads the test, or returns the cached result if it did not change since. Thread safe.
+   */
+  public static FileCheck check(VirtualFile testFile) {
+    long modificationStamp = testFile.getModificationStamp();
+    FileCheck fileCheck = testFile.getUserData(FILE_CHECK);
+    if (
+      nonNull(fileCheck) && fileCheck.modificationStamp() == modificationStamp
+    ) {
+      return fileCheck;
+    }
+
+    try {
+      fileCheck = check(
+        testFile,
+        modificationStamp,
+        VfsUtilCore.loadText(testFile)
+      );
+    } catch (IOException e) {
+      fileCheck = new FileCheck(
+        modificationStamp,
+        new Problem(testFile, 1, 1, "Cannot be read: " + e.getMessage()),
+        Map.of()
+      );
+    }
+    testFile.putUserData(FILE_CHECK, fileCheck);
+    return fileCheck;
+  }
+
+  static FileCheck check(
+    VirtualFile testFile,
+    long modificationStamp,
+    CharSequence xml
+  ) {
+    Problem syntaxError = findSyntaxError(testFile, xml);
+    Map<String, Integer> referencedFiles = new LinkedHashMap<>();
+    for (String key : CitrusReferences.parse(xml).referenced()) {
+      String fileName = CitrusReferences.fileName(key);
+      if (nonNull(fileName)) {
+        int offset = StringUtil.indexOf(xml, fileName);
+        referencedFiles.put(
+          fileName,
+          offset < 0 ? 1 : StringUtil.offsetToLineNumber(xml, offset) + 1
+        );
+      }
+    }
+    return new FileCheck(modificationStamp, syntaxError, referencedFiles);
+  }
+
+  /**
+   * @param missingFiles the referenced file names found nowhere in the project
+   * @return the syntax error and the references to missing files of the test
+   */
+  public static List<Problem> problems(
+    VirtualFile testFile,
+    FileCheck fileCheck,
+    Set<String> missingFiles
+  ) {
+    List<Problem> problems = new ArrayList<>();
+    if (nonNull(fileCheck.syntaxError())) {
+      problems.add(fileCheck.syntaxError());
+    }
+    fileCheck
+      .referencedFiles()
+      .forEach((fileName, line) -> {
+        if (missingFiles.contains(fileName)) {
+          problems.add(
+            new Problem(
+              testFile,
+              line,
+              1,
+              "Referenced file not found: " + fileName
+            )
+          );
+        }
+      });
+    return problems;
+  }
+
+  private static @Nullable Problem findSyntaxError(
+    VirtualFile testFile,
+    CharSequence xml
+  ) {
+    try {
+      XMLStreamReader reader = XML_INPUT_FACTORY.get().createXMLStreamReader(
+        new StringReader(xml.toString())
+      );
+      try {
+        while (reader.hasNext()) {
+          reader.next();
+        }
+      } finally {
+        reader.close();
+      }
+      return null;
+    } catch (XMLStreamException e) {
+      Location location = e.getLocation();
+      return new Problem(
+        testFile,
+        isNull(location) ? 1 : Math.max(location.getLineNumber(), 1),
+        isNull(location) ? 1 : Math.max(location.getColumnNumber(), 1),
+        stripLocation(e.getMessage())
+      );
+    }
+  }
+
+  /**
+   * StAX prefixes the message with "ParseError at [row,col]:[12,5]\nMessage: "
+   */
+  private static String stripLocation(@Nullable String message) {
+    if (isNull(message)) {
+      return "Malformed XML";
+    }
+    int messageStart = message.indexOf("Message: ");
+    return messageStart < 0
+      ? message
+      : message.substring(messageStart + "Message: ".length());
+  }
+}
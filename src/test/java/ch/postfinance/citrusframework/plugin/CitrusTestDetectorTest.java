@@ -0,0 +1,98 @@
+package ch.postfinance.citrusframework.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CitrusTestDetectorTest {
+
+  @Nested
+  class IsCitrusTestContent {
+
+    @Test
+    void returns_true_forTestRootInCitrusNamespace() {
+      assertThat(
+        CitrusTestDetector.isCitrusTest(
+          content(
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!-- Account scenarios -->
+            <test name="AccountTest" xmlns="http://citrusframework.org/schema/xml/testcase">
+              <actions/>
+            </test>
+            """
+          )
+        )
+      ).isTrue();
+    }
+
+    @Test
+    void returns_true_forLegacySpringTest() {
+      assertThat(
+        CitrusTestDetector.isCitrusTest(
+          content(
+            """
+            <spring:beans xmlns="http://www.citrusframework.org/schema/testcase"
+                          xmlns:spring="http://www.springframework.org/schema/beans">
+              <testcase name="AccountTest"/>
+            </spring:beans>
+            """
+          )
+        )
+      ).isTrue();
+    }
+
+    @Test
+    void returns_false_forTestRootWithoutCitrusNamespace() {
+      assertThat(
+        CitrusTestDetector.isCitrusTest(content("<test name=\"Other\"/>"))
+      ).isFalse();
+    }
+
+    @Test
+    void returns_false_forCitrusEndpointConfiguration() {
+      assertThat(
+        CitrusTestDetector.isCitrusTest(
+          content(
+            """
+            <beans xmlns="http://www.springframework.org/schema/beans"
+                   xmlns:citrus-http="http://www.citrusframework.org/schema/http/config"/>
+            """
+          )
+        )
+      ).isFalse();
+    }
+
+    @Test
+    void returns_false_forMalformedXml() {
+      assertThat(CitrusTestDetector.isCitrusTest(content("{}"))).isFalse();
+    }
+  }
+
+  @Nested
+  class IsCitrusTestFile {
+
+    @Test
+    void returns_false_forUnreadableFile(@Mock VirtualFile xmlFileMock)
+      throws IOException {
+      when(xmlFileMock.getInputStream()).thenThrow(new IOException("gone"));
+
+      assertThat(CitrusTestDetector.isCitrusTest(xmlFileMock)).isFalse();
+    }
+  }
+
+  private static InputStream content(String xml) {
+    return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,11 +1,24 @@
 package ch.postfinance.citrusframework.plugin;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.openapi.vfs.VirtualFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +28,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class VirtualFileUtilTest {
 
+  private static final String CITRUS_TEST =
+    "<test name=\"MyTest\" xmlns=\"http://citrusframework.org/schema/xml/testcase\"/>";
+  private static final String SPRING_CONTEXT =
+    "<beans xmlns=\"http://www.springframework.org/schema/beans\"/>";
+
   @Nested
   class ContainsAtLeastOneTestFile {
 
@@ -48,8 +66,10 @@ class VirtualFileUtilTest {
     }
 
     @Test
-    void returns_false_forWrongCasing(@Mock VirtualFile virtualFileMock) {
-      configureAsXmlFile(virtualFileMock, "mytest.xml");
+    void returns_false_forTestNamedNonCitrusXmlFile(
+      @Mock VirtualFile virtualFileMock
+    ) {
+      configureAsXmlFile(virtualFileMock, "MyTest.xml");
 
       assertThat(
         VirtualFileUtil.containsAtLeastOneTestFile(
@@ -58,6 +78,19 @@ class VirtualFileUtilTest {
       ).isFalse();
     }
 
+    @Test
+    void returns_true_forCitrusTestWithoutTestSuffix(
+      @Mock VirtualFile virtualFileMock
+    ) {
+      configureAsXmlTestFile(virtualFileMock, "AccountScenario.xml");
+
+      assertThat(
+        VirtualFileUtil.containsAtLeastOneTestFile(
+          new VirtualFile[] { virtualFileMock }
+        )
+      ).isTrue();
+    }
+
     @Test
     void returns_false_forNonXmlFileType(
       @Mock VirtualFile virtualFileMock,
@@ -137,6 +170,58 @@ class VirtualFileUtilTest {
     }
   }
 
+  @Nested
+  class RetrieveTestFileNamesInParallel {
+
+    @Test
+    void returns_sortedNames_fromMultipleDirectories(
+      @Mock VirtualFile firstDirectoryMock,
+      @Mock VirtualFile secondDirectoryMock,
+      @Mock VirtualFile firstFileMock,
+      @Mock VirtualFile secondFileMock
+    ) {
+      when(firstDirectoryMock.isDirectory()).thenReturn(true);
+      when(firstDirectoryMock.getChildren()).thenReturn(
+        new VirtualFile[] { secondFileMock }
+      );
+      when(secondDirectoryMock.isDirectory()).thenReturn(true);
+      when(secondDirectoryMock.getChildren()).thenReturn(
+        new VirtualFile[] { firstFileMock }
+      );
+      configureAsXmlTestFile(firstFileMock, "AlphaTest.xml");
+      when(firstFileMock.getPath()).thenReturn("/project/a/AlphaTest.xml");
+      configureAsXmlTestFile(secondFileMock, "BetaTest.xml");
+      when(secondFileMock.getPath()).thenReturn("/project/b/BetaTest.xml");
+
+      assertThat(
+        VirtualFileUtil.retrieveTestFileNamesInParallel(
+          new VirtualFile[] { firstDirectoryMock, secondDirectoryMock },
+          null
+        )
+      ).isEqualTo("*AlphaTest*,*BetaTest*");
+    }
+
+    @Test
+    void throws_whenIndicatorIsCancelled(
+      @Mock VirtualFile directoryMock,
+      @Mock ProgressIndicator indicatorMock
+    ) {
+      when(indicatorMock.isCanceled()).thenReturn(true);
+      doThrow(new ProcessCanceledException())
+        .when(indicatorMock)
+        .checkCanceled();
+
+      VirtualFile[] virtualFiles = { directoryMock };
+      assertThatThrownBy(() ->
+        VirtualFileUtil.retrieveTestFileNamesInParallel(
+          virtualFiles,
+          indicatorMock
+        )
+      ).isInstanceOf(ProcessCanceledException.class);
+      verify(directoryMock, never()).getChildren();
+    }
+  }
+
   @Nested
   class RetrieveTestFileNames {
 
@@ -186,7 +271,6 @@ class VirtualFileUtilTest {
       configureAsXmlTestFile(testFileMock, "MyTest.xml");
       when(testFileMock.getPath()).thenReturn("/project/MyTest.xml");
       configureAsXmlFile(nonTestFileMock, "Config.xml");
-      when(nonTestFileMock.getPath()).thenReturn("/project/Config.xml");
 
       assertThat(
         VirtualFileUtil.retrieveTestFileNames(
@@ -225,6 +309,85 @@ class VirtualFileUtilTest {
         )
       ).isEqualTo("*MyTest*");
     }
+
+    @Test
+    void reports_foundTests_toIndicator(
+      @Mock VirtualFile directoryMock,
+      @Mock VirtualFile testFileMock,
+      @Mock ProgressIndicator indicatorMock
+    ) {
+      when(directoryMock.isDirectory()).thenReturn(true);
+      when(directoryMock.getPath()).thenReturn("/project/dir");
+      when(directoryMock.getChildren()).thenReturn(
+        new VirtualFile[] { testFileMock }
+      );
+      configureAsXmlTestFile(testFileMock, "NestedTest.xml");
+      when(testFileMock.getPath()).thenReturn("/project/dir/NestedTest.xml");
+
+      assertThat(
+        VirtualFileUtil.retrieveTestFileNames(
+          new VirtualFile[] { directoryMock },
+          indicatorMock
+        )
+      ).isEqualTo("*NestedTest*");
+      verify(indicatorMock).setText2("/project/dir");
+      verify(indicatorMock).setText("Found 1 citrus tests");
+    }
+
+    @Test
+    void aborts_whenIndicatorIsCancelled(
+      @Mock VirtualFile directoryMock,
+      @Mock ProgressIndicator indicatorMock
+    ) {
+      when(directoryMock.isDirectory()).thenReturn(true);
+      doThrow(new ProcessCanceledException())
+        .when(indicatorMock)
+        .checkCanceled();
+
+      VirtualFile[] virtualFiles = { directoryMock };
+      assertThatThrownBy(() ->
+        VirtualFileUtil.retrieveTestFileNames(virtualFiles, indicatorMock)
+      ).isInstanceOf(ProcessCanceledException.class);
+      verify(directoryMock, never()).getChildren();
+    }
+  }
+
+  @Nested
+  class JoinTestFileNames {
+
+    @Test
+    void returns_empty_forNoTestFiles() {
+      assertThat(VirtualFileUtil.joinTestFileNames(List.of())).isEmpty();
+    }
+
+    @Test
+    void uses_nameWithoutExtension(@Mock VirtualFile testFileMock) {
+      when(testFileMock.getNameWithoutExtension()).thenReturn(
+        "Card_Deactivate"
+      );
+
+      assertThat(
+        VirtualFileUtil.joinTestFileNames(List.of(testFileMock))
+      ).isEqualTo("*Card_Deactivate*");
+    }
+
+    @Test
+    void returns_exactNames_withoutWildcards(
+      @Mock VirtualFile testFileMock,
+      @Mock VirtualFile otherTestFileMock
+    ) {
+      when(testFileMock.getNameWithoutExtension()).thenReturn("Card_Test");
+      when(otherTestFileMock.getNameWithoutExtension()).thenReturn(
+        "Debit_Card_Test"
+      );
+
+      assertThat(
+        VirtualFileUtil.joinTestFileNames(
+          List.of(testFileMock, otherTestFileMock),
+          true
+        )
+      ).isEqualTo("Card_Test,Debit_Card_Test");
+    }
   }
 
   private static void configureAsXmlTestFile(
@@ -232,6 +395,7 @@ class VirtualFileUtilTest {
     String name
   ) {
     configureAsFile(virtualFileMock, name, XmlFileType.INSTANCE);
+    configureContent(virtualFileMock, CITRUS_TEST);
   }
 
   private static void configureAsXmlFile(
@@ -239,6 +403,7 @@ class VirtualFileUtilTest {
     String name
   ) {
     configureAsFile(virtualFileMock, name, XmlFileType.INSTANCE);
+    configureContent(virtualFileMock, SPRING_CONTEXT);
   }
 
   private static void configureAsFile(
@@ -247,7 +412,24 @@ class VirtualFileUtilTest {
     FileType fileType
   ) {
     when(virtualFileMock.isDirectory()).thenReturn(false);
-    when(virtualFileMock.getName()).thenReturn(name);
+    // The names are only read when building the test name patterns
+    lenient().when(virtualFileMock.getName()).thenReturn(name);
+    lenient()
+      .when(virtualFileMock.getNameWithoutExtension())
+      .thenReturn(FileUtilRt.getNameWithoutExtension(name));
     when(virtualFileMock.getFileType()).thenReturn(fileType);
   }
+
+  private static void configureContent(
+    VirtualFile virtualFileMock,
+    String content
+  ) {
+    try {
+      when(virtualFileMock.getInputStream()).thenAnswer(invocation ->
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
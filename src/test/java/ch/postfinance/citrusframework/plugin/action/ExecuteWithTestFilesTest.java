@@ -66,11 +66,7 @@ class ExecuteWithTestFilesTest {
     }
 
     private String buildVmParameters(String existing, String testFileNames) {
-      String dTestsToRun = "-Dtests.to.run=";
-      if (existing != null) {
-        return existing + " " + dTestsToRun + testFileNames;
-      }
-      return dTestsToRun + testFileNames;
+      return XmlAbstractAction.buildVmParameters(existing, testFileNames);
     }
   }
 
@@ -0,0 +1,175 @@
+package ch.postfinance.citrusframework.plugin.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+
+import ch.postfinance.citrusframework.plugin.daemon.DaemonProtocol.DaemonResult;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+class DaemonProtocolTest {
+
+  @Nested
+  class RunRequest {
+
+    @Test
+    void prefixes_testsToRun() {
+      assertThat(
+        DaemonProtocol.runRequest("-Dtests.to.run=*MyTest*,*OtherTest*")
+      ).isEqualTo("RUN -Dtests.to.run=*MyTest*,*OtherTest*");
+    }
+
+    @Test
+    void strips_commandLineQuotes() {
+      assertThat(
+        DaemonProtocol.runRequest("\"-Dtests.to.run.file=/tmp/my tests.txt\"")
+      ).isEqualTo("RUN -Dtests.to.run.file=/tmp/my tests.txt");
+    }
+  }
+
+  @Nested
+  class ParseResponse {
+
+    @Test
+    void returns_counts_ofDoneResponse() throws IOException {
+      assertThat(DaemonProtocol.parseResponse("DONE 12 2 1")).isEqualTo(
+        new DaemonResult(12, 2, 1)
+      );
+    }
+
+    @Test
+    void throws_message_ofErrorResponse() {
+      assertThatThrownBy(() ->
+        DaemonProtocol.parseResponse("ERROR No tests found")
+      )
+        .isInstanceOf(IOException.class)
+        .hasMessage("No tests found");
+    }
+
+    @Test
+    void throws_ifConnectionClosed() {
+      assertThatThrownBy(() -> DaemonProtocol.parseResponse(null))
+        .isInstanceOf(IOException.class)
+        .hasMessage("The daemon closed the connection");
+    }
+
+    @Test
+    void throws_ifResponseMalformed() {
+      for (String response : List.of("DONE 12 2", "DONE a b c", "OK")) {
+        assertThatThrownBy(() -> DaemonProtocol.parseResponse(response))
+          .isInstanceOf(IOException.class)
+          .hasMessage("Unexpected daemon response: " + response);
+      }
+    }
+  }
+
+  @Nested
+  @ExtendWith(MockitoExtension.class)
+  class Client {
+
+    @Mock
+    private ProgressIndicator indicatorMock;
+
+    @Test
+    void run_sendsRequest_andReturnsResult() throws Exception {
+      try (
+        ServerSocket serverSocket = new ServerSocket(
+          0,
+          1,
+          InetAddress.getLoopbackAddress()
+        )
+      ) {
+        CompletableFuture<String> request = answer(serverSocket, "DONE 3 0 0");
+
+        DaemonResult result = DaemonClient.run(
+          serverSocket.getLocalPort(),
+          "-Dtests.to.run=*MyTest*",
+          indicatorMock
+        );
+
+        assertThat(result).isEqualTo(new DaemonResult(3, 0, 0));
+        assertThat(request.get()).isEqualTo("RUN -Dtests.to.run=*MyTest*");
+      }
+    }
+
+    @Test
+    void run_throws_ifNoDaemonListening() throws IOException {
+      int port;
+      try (
+        ServerSocket serverSocket = new ServerSocket(
+          0,
+          1,
+          InetAddress.getLoopbackAddress()
+        )
+      ) {
+        port = serverSocket.getLocalPort();
+      }
+
+      assertThatThrownBy(() ->
+        DaemonClient.run(port, "-Dtests.to.run=*MyTest*", indicatorMock)
+      ).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void run_stopsWaiting_onceCancelled() throws IOException {
+      doThrow(new ProcessCanceledException())
+        .when(indicatorMock)
+        .checkCanceled();
+      try (
+        ServerSocket serverSocket = new ServerSocket(
+          0,
+          1,
+          InetAddress.getLoopbackAddress()
+        )
+      ) {
+        // Connected through the backlog, but never answered
+        assertThatThrownBy(() ->
+          DaemonClient.run(
+            serverSocket.getLocalPort(),
+            "-Dtests.to.run=*MyTest*",
+            indicatorMock
+          )
+        ).isInstanceOf(ProcessCanceledException.class);
+      }
+    }
+
+    private static CompletableFuture<String> answer(
+      ServerSocket serverSocket,
+      String response
+    ) {
+      return CompletableFuture.supplyAsync(() -> {
+        try (Socket socket = serverSocket.accept()) {
+          byte[] buffer = new byte[256];
+          StringBuilder request = new StringBuilder();
+          int read;
+          while (
+            request.indexOf("\n") < 0 &&
+            (read = socket.getInputStream().read(buffer)) > 0
+          ) {
+            request.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+          }
+          socket
+            .getOutputStream()
+            .write((response + "\n").getBytes(StandardCharsets.UTF_8));
+          return request.toString().trim();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package ch.postfinance.citrusframework.plugin.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PhaseTimingsTest {
+
+  private final PhaseTimings phaseTimings = new PhaseTimings();
+
+  @Test
+  void dumps_countAndItems_perPhase() {
+    phaseTimings.record(Phase.DISCOVERY, System.nanoTime(), 120);
+    phaseTimings.record(Phase.DISCOVERY, System.nanoTime(), 30);
+
+    assertThat(phaseTimings.dump())
+      .containsPattern("Test discovery\\s+2\\s+\\S+\\s+\\S+\\s+150")
+      .containsPattern("Process start\\s+0\\s+0[.,]0\\s+0[.,]0\\s+0");
+  }
+
+  @Test
+  void resets_allPhases() {
+    phaseTimings.record(Phase.UPDATE, System.nanoTime(), 3);
+
+    phaseTimings.reset();
+
+    assertThat(phaseTimings.dump()).containsPattern(
+      "update\\(\\) visibility check\\s+0\\s"
+    );
+  }
+}
@@ -8,9 +8,10 @@ import org.junit.jupiter.api.Test;
 class RunConfigurationDialogWrapperTest {
 
   @Test
-  void runConfig_stores_nameAndType() {
-    RunConfig runConfig = new RunConfig("myConfig", "JUnit");
+  void runConfig_stores_idNameAndType() {
+    RunConfig runConfig = new RunConfig("JUnit.myConfig", "myConfig", "JUnit");
 
+    assertThat(runConfig.getUniqueId()).isEqualTo("JUnit.myConfig");
     assertThat(runConfig.getName()).isEqualTo("myConfig");
     assertThat(runConfig.getType()).isEqualTo("JUnit");
   }
@@ -0,0 +1,87 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class BatchRunTest {
+
+  @Nested
+  class Launches {
+
+    private final List<String> launched = new ArrayList<>();
+
+    @Test
+    void starts_upToConcurrencyLimit_andQueuesTheOthers() {
+      BatchRun batchRun = new BatchRun(List.of("dev", "test", "prod"), 2);
+
+      batchRun.start(launches("dev", "test", "prod"));
+
+      assertThat(launched).containsExactly("dev", "test");
+      batchRun.launchFinished().run();
+      assertThat(launched).containsExactly("dev", "test", "prod");
+      assertThat(batchRun.launchFinished()).isNull();
+    }
+
+    @Test
+    void starts_oneAtATime_forNonPositiveLimit() {
+      BatchRun batchRun = new BatchRun(List.of("dev", "test"), 0);
+
+      batchRun.start(launches("dev", "test"));
+
+      assertThat(launched).containsExactly("dev");
+    }
+
+    private List<Runnable> launches(String... configurationNames) {
+      List<Runnable> launches = new ArrayList<>();
+      for (String configurationName : configurationNames) {
+        launches.add(() -> launched.add(configurationName));
+      }
+      return launches;
+    }
+  }
+
+  @Nested
+  class Results {
+
+    private final BatchRun batchRun = new BatchRun(List.of("dev", "prod"), 2);
+
+    @Test
+    void returns_true_onlyForLastConfiguration() {
+      assertThat(batchRun.configurationFinished(1, 3, 0, 0)).isFalse();
+      assertThat(batchRun.configurationFinished(0, 3, 0, 1)).isTrue();
+
+      assertThat(batchRun.isFailed()).isFalse();
+      assertThat(batchRun.getSummary()).isEqualTo(
+        "dev: 3 tests, 0 failed, 1 ignored<br>prod: 3 tests, 0 failed, 0 ignored"
+      );
+    }
+
+    @Test
+    void counts_everyConfigurationOnce() {
+      assertThat(batchRun.configurationNotStarted(0)).isFalse();
+      assertThat(batchRun.configurationFinished(0, 3, 0, 0)).isFalse();
+      assertThat(batchRun.configurationFinished(1, 3, 1, 0)).isTrue();
+
+      assertThat(batchRun.isFailed()).isTrue();
+      assertThat(batchRun.getSummary()).isEqualTo(
+        "dev: not started<br>prod: 3 tests, 1 failed, 0 ignored"
+      );
+    }
+
+    @Test
+    void keeps_configurationsSharingName_apart() {
+      BatchRun sameNameBatchRun = new BatchRun(List.of("All", "All"), 2);
+
+      assertThat(sameNameBatchRun.configurationFinished(0, 3, 0, 0)).isFalse();
+      assertThat(sameNameBatchRun.configurationFinished(1, 2, 1, 0)).isTrue();
+
+      assertThat(sameNameBatchRun.getSummary()).isEqualTo(
+        "All: 3 tests, 0 failed, 0 ignored<br>All: 2 tests, 1 failed, 0 ignored"
+      );
+    }
+  }
+}
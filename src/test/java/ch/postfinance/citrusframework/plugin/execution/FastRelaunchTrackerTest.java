@@ -0,0 +1,117 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import com.intellij.compiler.options.CompileStepBeforeRun;
+import com.intellij.compiler.options.CompileStepBeforeRunNoErrorCheck;
+import com.intellij.execution.BeforeRunTask;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FastRelaunchTrackerTest {
+
+  @Nested
+  class GetTestResourceOnlyChanges {
+
+    private final FastRelaunchTracker tracker = new FastRelaunchTracker();
+
+    @Mock
+    private VirtualFile testResourceMock;
+
+    @Test
+    void returns_null_beforeFirstLaunch() {
+      tracker.testResourceChanged(testResourceMock);
+
+      assertThat(tracker.getTestResourceOnlyChanges()).isNull();
+    }
+
+    @Test
+    void returns_changedTestResources_sinceLastLaunch() {
+      tracker.launchSucceeded(tracker.getGeneration());
+      tracker.testResourceChanged(testResourceMock);
+      tracker.testResourceChanged(testResourceMock);
+
+      assertThat(tracker.getTestResourceOnlyChanges()).containsExactly(
+        testResourceMock
+      );
+    }
+
+    @Test
+    void returns_null_ifOtherFilesChanged() {
+      tracker.launchSucceeded(tracker.getGeneration());
+      tracker.testResourceChanged(testResourceMock);
+      tracker.otherFileChanged();
+
+      assertThat(tracker.getTestResourceOnlyChanges()).isNull();
+    }
+
+    @Test
+    void resets_changes_onLaunch() {
+      tracker.launchSucceeded(tracker.getGeneration());
+      tracker.testResourceChanged(testResourceMock);
+      tracker.otherFileChanged();
+      tracker.launchSucceeded(tracker.getGeneration());
+
+      assertThat(tracker.getTestResourceOnlyChanges()).isEmpty();
+    }
+
+    @Test
+    void keeps_changes_madeDuringBuild(@Mock VirtualFile otherResourceMock) {
+      tracker.launchSucceeded(tracker.getGeneration());
+      tracker.testResourceChanged(testResourceMock);
+      long buildGeneration = tracker.getGeneration();
+      tracker.testResourceChanged(otherResourceMock);
+      tracker.launchSucceeded(buildGeneration);
+
+      assertThat(tracker.getTestResourceOnlyChanges()).containsExactly(
+        otherResourceMock
+      );
+    }
+
+    @Test
+    void requires_build_forOtherFileChangedDuringBuild() {
+      tracker.launchSucceeded(tracker.getGeneration());
+      long buildGeneration = tracker.getGeneration();
+      tracker.otherFileChanged();
+      tracker.launchSucceeded(buildGeneration);
+
+      assertThat(tracker.getTestResourceOnlyChanges()).isNull();
+    }
+  }
+
+  @Nested
+  class WithoutBuildTasks {
+
+    @Mock
+    private BeforeRunTask<?> compileTaskMock;
+
+    @Mock
+    private BeforeRunTask<?> compileNoErrorCheckTaskMock;
+
+    @Mock
+    private BeforeRunTask<?> otherTaskMock;
+
+    @Test
+    void removes_buildTasks() {
+      doReturn(CompileStepBeforeRun.ID).when(compileTaskMock).getProviderId();
+      doReturn(CompileStepBeforeRunNoErrorCheck.ID)
+        .when(compileNoErrorCheckTaskMock)
+        .getProviderId();
+      doReturn(Key.create("Other")).when(otherTaskMock).getProviderId();
+
+      assertThat(
+        FastRelaunchTracker.withoutBuildTasks(
+          List.of(compileTaskMock, otherTaskMock, compileNoErrorCheckTaskMock)
+        )
+      ).containsExactly(otherTaskMock);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PreparedConfigurationCacheTest {
+
+  private static final String TESTS_TO_RUN = "-Dtests.to.run=*MyTest*";
+
+  private final PreparedConfigurationCache cache =
+    new PreparedConfigurationCache();
+
+  @Mock
+  private RunnerAndConfigurationSettings sourceMock;
+
+  @Mock
+  private RunnerAndConfigurationSettings preparedMock;
+
+  @Test
+  void returns_preparedCopy_forSameSelection() {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+
+    assertThat(cache.get(sourceMock, "MyConfig", TESTS_TO_RUN)).isSameAs(
+      preparedMock
+    );
+  }
+
+  @Test
+  void returns_null_forOtherSelection() {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+
+    assertThat(
+      cache.get(sourceMock, "MyConfig", "-Dtests.to.run=*OtherTest*")
+    ).isNull();
+  }
+
+  @Test
+  void returns_null_forRenamedTestFile() {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+
+    // The same file, encoded with its new name
+    assertThat(
+      cache.get(sourceMock, "MyConfig", "-Dtests.to.run=*MyRenamedTest*")
+    ).isNull();
+  }
+
+  @Test
+  void returns_null_forOtherSourceConfiguration(
+    @Mock RunnerAndConfigurationSettings otherSourceMock
+  ) {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+
+    assertThat(cache.get(otherSourceMock, "MyConfig", TESTS_TO_RUN)).isNull();
+  }
+
+  @Test
+  void returns_null_forExactSelection() {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+
+    assertThat(
+      cache.get(sourceMock, "MyConfig", "-Dtests.to.run=MyTest")
+    ).isNull();
+  }
+
+  @Test
+  void returns_null_afterInvalidation() {
+    cache.put(sourceMock, "MyConfig", TESTS_TO_RUN, preparedMock);
+    cache.invalidate();
+
+    assertThat(cache.get(sourceMock, "MyConfig", TESTS_TO_RUN)).isNull();
+  }
+
+  @Test
+  void evicts_leastRecentlyUsedCopy() {
+    cache.put(sourceMock, "Config0", TESTS_TO_RUN, preparedMock);
+    for (int i = 1; i < PreparedConfigurationCache.MAX_SIZE; i++) {
+      cache.put(
+        sourceMock,
+        "Config" + i,
+        TESTS_TO_RUN,
+        mock(RunnerAndConfigurationSettings.class)
+      );
+    }
+    cache.get(sourceMock, "Config0", TESTS_TO_RUN);
+    cache.put(
+      sourceMock,
+      "ConfigOverflow",
+      TESTS_TO_RUN,
+      mock(RunnerAndConfigurationSettings.class)
+    );
+
+    assertThat(cache.get(sourceMock, "Config0", TESTS_TO_RUN)).isSameAs(
+      preparedMock
+    );
+    assertThat(cache.get(sourceMock, "Config1", TESTS_TO_RUN)).isNull();
+  }
+}
@@ -0,0 +1,71 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SelectionMatchReportTest {
+
+  @Test
+  void isNotOverMatching_ifEveryPatternMatchesItsOwnTest() {
+    SelectionMatchReport report = SelectionMatchReport.of(
+      List.of("Card_Test"),
+      List.of("Card_Test")
+    );
+
+    assertThat(report.isOverMatching()).isFalse();
+    assertThat(report.getMatchedTests()).isEqualTo(1);
+  }
+
+  @Test
+  void reports_patterns_matchingOtherTests() {
+    SelectionMatchReport report = SelectionMatchReport.of(
+      List.of("Card_Test", "Account_Test"),
+      List.of(
+        "Card_Test",
+        "Debit_Card_Test",
+        "Card_Test_Extended",
+        "Account_Test"
+      )
+    );
+
+    assertThat(report.isOverMatching()).isTrue();
+    assertThat(report.getMatchedTests()).isEqualTo(4);
+    assertThat(report.getSummary()).isEqualTo(
+      "The 2 selected tests would run 4 tests:\n*Card_Test* matches 3 tests"
+    );
+  }
+
+  @Test
+  void counts_sameTestName_inSeveralModules() {
+    SelectionMatchReport report = SelectionMatchReport.of(
+      List.of("Card_Test"),
+      List.of("Card_Test", "Card_Test")
+    );
+
+    assertThat(report.isOverMatching()).isTrue();
+    assertThat(report.getMatchedTests()).isEqualTo(2);
+  }
+
+  @Test
+  void limits_reportedPatterns() {
+    List<String> selectedNames = new ArrayList<>();
+    List<String> testNames = new ArrayList<>();
+    for (int i = 0; i < SelectionMatchReport.MAX_REPORTED_PATTERNS + 2; i++) {
+      selectedNames.add("T" + i + "_Test");
+      testNames.add("T" + i + "_Test");
+      testNames.add("Other_T" + i + "_Test");
+    }
+
+    SelectionMatchReport report = SelectionMatchReport.of(
+      selectedNames,
+      testNames
+    );
+
+    assertThat(report.getSummary().lines())
+      .hasSize(SelectionMatchReport.MAX_REPORTED_PATTERNS + 2)
+      .endsWith("and 2 more patterns");
+  }
+}
@@ -0,0 +1,71 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShardedRunTest {
+
+  private final List<String> launched = new ArrayList<>();
+  private final ShardedRun shardedRun = new ShardedRun("cards", 3);
+
+  @Test
+  void start_launches_otherShards_onceFirstStarted() {
+    shardedRun.start(
+      () -> launched.add("shard 1"),
+      List.of(() -> launched.add("shard 2"), () -> launched.add("shard 3"))
+    );
+
+    assertThat(launched).containsExactly("shard 1");
+    shardedRun.shardStarted().forEach(Runnable::run);
+    assertThat(launched).containsExactly("shard 1", "shard 2", "shard 3");
+    assertThat(shardedRun.shardStarted()).isEmpty();
+  }
+
+  @Test
+  void shardFinished_returns_true_onlyForLastShard() {
+    assertThat(shardedRun.shardFinished(3, 0, 0)).isFalse();
+    assertThat(shardedRun.shardFinished(2, 1, 0)).isFalse();
+    assertThat(shardedRun.shardFinished(4, 0, 1)).isTrue();
+
+    assertThat(shardedRun.isFailed()).isTrue();
+    assertThat(shardedRun.getSummary()).contains(
+      "3 of 3 shards finished",
+      ": 9 tests, 1 failed, 1 ignored"
+    );
+  }
+
+  @Test
+  void shardNotStarted_counts_pendingShards_ifFirstDidNotStart() {
+    shardedRun.start(
+      () -> launched.add("shard 1"),
+      List.of(() -> launched.add("shard 2"), () -> launched.add("shard 3"))
+    );
+
+    assertThat(shardedRun.shardNotStarted()).isTrue();
+    assertThat(shardedRun.shardStarted()).isEmpty();
+    assertThat(shardedRun.isFailed()).isTrue();
+    assertThat(shardedRun.getSummary())
+      .contains("0 of 3 shards finished")
+      .endsWith(", 3 shards not started");
+  }
+
+  @Test
+  void shardNotStarted_counts_singleShard_onceOthersWereLaunched() {
+    shardedRun.start(
+      () -> launched.add("shard 1"),
+      List.of(() -> launched.add("shard 2"), () -> launched.add("shard 3"))
+    );
+    shardedRun.shardStarted();
+
+    assertThat(shardedRun.shardFinished(3, 0, 0)).isFalse();
+    assertThat(shardedRun.shardNotStarted()).isFalse();
+    assertThat(shardedRun.shardFinished(2, 0, 0)).isTrue();
+    assertThat(shardedRun.getSummary()).contains(
+      "2 of 3 shards finished",
+      ", 1 shards not started"
+    );
+  }
+}
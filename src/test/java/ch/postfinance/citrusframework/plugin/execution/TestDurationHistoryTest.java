@@ -0,0 +1,47 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TestDurationHistoryTest {
+
+  private final TestDurationHistory durationHistory = new TestDurationHistory();
+
+  @Test
+  void expects_defaultDuration_withoutHistory(@Mock VirtualFile testFileMock) {
+    when(testFileMock.getNameWithoutExtension()).thenReturn("MyTest");
+
+    assertThat(
+      durationHistory.getExpectedDurations().applyAsLong(testFileMock)
+    ).isEqualTo(1_000);
+  }
+
+  @Test
+  void averages_recordedDurations(@Mock VirtualFile testFileMock) {
+    when(testFileMock.getNameWithoutExtension()).thenReturn("MyTest");
+    durationHistory.record("MyTest", 200);
+    durationHistory.record("MyTest", 400);
+
+    assertThat(
+      durationHistory.getExpectedDurations().applyAsLong(testFileMock)
+    ).isEqualTo(300);
+  }
+
+  @Test
+  void expects_averageDuration_forUnknownTest(@Mock VirtualFile testFileMock) {
+    when(testFileMock.getNameWithoutExtension()).thenReturn("UnknownTest");
+    durationHistory.record("FastTest", 100);
+    durationHistory.record("SlowTest", 500);
+
+    assertThat(
+      durationHistory.getExpectedDurations().applyAsLong(testFileMock)
+    ).isEqualTo(300);
+  }
+}
@@ -0,0 +1,73 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TestSharderTest {
+
+  @Test
+  void returns_singleEmptyShard_forNoTests() {
+    assertThat(TestSharder.shard(List.of(), 4)).containsExactly(List.of());
+  }
+
+  @Test
+  void returns_atMostOneShardPerTest() {
+    List<VirtualFile> testFiles = testFiles(2);
+
+    assertThat(TestSharder.shard(testFiles, 8)).containsExactly(
+      List.of(testFiles.get(0)),
+      List.of(testFiles.get(1))
+    );
+  }
+
+  @Test
+  void distributes_testsRoundRobin() {
+    List<VirtualFile> testFiles = testFiles(5);
+
+    assertThat(TestSharder.shard(testFiles, 2)).containsExactly(
+      List.of(testFiles.get(0), testFiles.get(2), testFiles.get(4)),
+      List.of(testFiles.get(1), testFiles.get(3))
+    );
+  }
+
+  @Test
+  void balances_shards_byExpectedDuration() {
+    List<VirtualFile> testFiles = testFiles(5);
+    Map<VirtualFile, Long> durations = Map.of(
+      testFiles.get(0),
+      10L,
+      testFiles.get(1),
+      300L,
+      testFiles.get(2),
+      100L,
+      testFiles.get(3),
+      150L,
+      testFiles.get(4),
+      40L
+    );
+
+    assertThat(TestSharder.shard(testFiles, 2, durations::get)).containsExactly(
+      List.of(testFiles.get(1)),
+      List.of(
+        testFiles.get(3),
+        testFiles.get(2),
+        testFiles.get(4),
+        testFiles.get(0)
+      )
+    );
+  }
+
+  private static List<VirtualFile> testFiles(int count) {
+    List<VirtualFile> testFiles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      testFiles.add(mock(VirtualFile.class));
+    }
+    return testFiles;
+  }
+}
@@ -0,0 +1,117 @@
+package ch.postfinance.citrusframework.plugin.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.postfinance.citrusframework.plugin.model.TestSelection;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TestsToRunEncoderTest {
+
+  @Test
+  void encodes_smallSelection_inline() throws IOException {
+    TestSelection testSelection = new TestSelection(
+      testFiles(2),
+      List.of("com/example")
+    );
+
+    assertThat(TestsToRunEncoder.encode(testSelection)).isEqualTo(
+      new TestsToRunEncoder.Encoding(
+        "-Dtests.to.run=*Generated_0_Test*,*Generated_1_Test*",
+        null
+      )
+    );
+  }
+
+  @Test
+  void encodes_exactSelection_withoutWildcards() throws IOException {
+    TestSelection testSelection = new TestSelection(
+      testFiles(2),
+      List.of()
+    ).exact();
+
+    assertThat(
+      TestsToRunEncoder.encode(testSelection).vmParameter()
+    ).isEqualTo("-Dtests.to.run=Generated_0_Test,Generated_1_Test");
+    assertThat(TestsToRunEncoder.usesNamePatterns(testSelection)).isFalse();
+  }
+
+  @Test
+  void encodes_largeFolderSelection_asDirectories() throws IOException {
+    TestSelection testSelection = new TestSelection(
+      testFiles(1_000),
+      List.of("com/example/cards", "com/example/accounts")
+    );
+
+    assertThat(TestsToRunEncoder.encode(testSelection)).isEqualTo(
+      new TestsToRunEncoder.Encoding(
+        "-Dtests.to.run.dirs=com/example/cards,com/example/accounts",
+        null
+      )
+    );
+    assertThat(TestsToRunEncoder.usesNamePatterns(testSelection)).isFalse();
+  }
+
+  @Test
+  void encodes_largeFileSelection_asSelectionFile() throws IOException {
+    TestSelection testSelection = new TestSelection(
+      testFiles(1_000),
+      List.of()
+    );
+
+    TestsToRunEncoder.Encoding encoding = TestsToRunEncoder.encode(
+      testSelection
+    );
+
+    Path selectionFile = encoding.selectionFile();
+    assertThat(encoding.vmParameter().replace("\"", "")).isEqualTo(
+      "-Dtests.to.run.file=" + selectionFile.toAbsolutePath()
+    );
+    // Matched like the inline patterns, whatever the size of the selection
+    assertThat(TestsToRunEncoder.usesNamePatterns(testSelection)).isTrue();
+    assertThat(Files.readAllLines(selectionFile))
+      .hasSize(1_000)
+      .startsWith("*Generated_0_Test*", "*Generated_1_Test*");
+
+    TestsToRunEncoder.deleteSelectionFile(selectionFile);
+    assertThat(selectionFile).doesNotExist();
+  }
+
+  @Test
+  void encodes_largeExactSelection_asExactNamesInSelectionFile()
+    throws IOException {
+    TestSelection testSelection = new TestSelection(
+      testFiles(1_000),
+      List.of()
+    ).exact();
+
+    Path selectionFile = TestsToRunEncoder.encode(
+      testSelection
+    ).selectionFile();
+
+    assertThat(Files.readAllLines(selectionFile)).startsWith(
+      "Generated_0_Test",
+      "Generated_1_Test"
+    );
+    TestsToRunEncoder.deleteSelectionFile(selectionFile);
+  }
+
+  private static List<VirtualFile> testFiles(int count) {
+    List<VirtualFile> testFiles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      VirtualFile testFileMock = mock(VirtualFile.class);
+      when(testFileMock.getNameWithoutExtension()).thenReturn(
+        "Generated_" + i + "_Test"
+      );
+      testFiles.add(testFileMock);
+    }
+    return testFiles;
+  }
+}
@@ -0,0 +1,63 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.postfinance.citrusframework.plugin.index.CitrusReferences.References;
+import org.junit.jupiter.api.Test;
+
+class CitrusReferencesTest {
+
+  @Test
+  void reads_referencedResourcesTemplatesAndBeans() {
+    References references = CitrusReferences.parse(
+      """
+      <test name="AccountTest">
+        <actions>
+          <call-template name="login"/>
+          <send endpoint="accountEndpoint">
+            <message>
+              <resource file="classpath:payloads/account.json"/>
+            </message>
+          </send>
+          <java class="com.example.AccountHelper"/>
+        </actions>
+      </test>
+      """
+    );
+
+    assertThat(references.referenced()).containsExactlyInAnyOrder(
+      "template:login",
+      "bean:accountEndpoint",
+      "file:account.json",
+      "class:com.example.AccountHelper"
+    );
+    assertThat(references.defined()).isEmpty();
+  }
+
+  @Test
+  void reads_definedTemplatesAndBeans() {
+    References references = CitrusReferences.parse(
+      """
+      <beans>
+        <template name="login"/>
+        <client id="accountClient" request-url="http://localhost:8080"/>
+      </beans>
+      """
+    );
+
+    assertThat(references.defined()).containsExactlyInAnyOrder(
+      "template:login",
+      "bean:accountClient"
+    );
+    assertThat(references.referenced()).isEmpty();
+  }
+
+  @Test
+  void keeps_referencesBeforeMalformedXml() {
+    References references = CitrusReferences.parse(
+      "<test><call-template name=\"login\"/><send endpoint="
+    );
+
+    assertThat(references.referenced()).containsExactly("template:login");
+  }
+}
@@ -0,0 +1,60 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CitrusTestFileIndexTest {
+
+  @Nested
+  class IndexAncestors {
+
+    @Test
+    void returns_empty_forFileWithoutParent(@Mock VirtualFile testFileMock) {
+      assertThat(CitrusTestFileIndex.indexAncestors(testFileMock)).isEmpty();
+    }
+
+    @Test
+    void returns_allAncestorIds(@Mock VirtualFile testFileMock) {
+      VirtualFile rootMock = directoryWithId(1);
+      VirtualFile nestedMock = directoryWithId(2);
+      when(nestedMock.getParent()).thenReturn(rootMock);
+      when(testFileMock.getParent()).thenReturn(nestedMock);
+
+      assertThat(CitrusTestFileIndex.indexAncestors(testFileMock))
+        .containsOnlyKeys(1, 2);
+    }
+
+    @Test
+    void skips_ancestorsWithoutId(
+      @Mock VirtualFile testFileMock,
+      @Mock VirtualFile lightDirectoryMock
+    ) {
+      VirtualFile rootMock = directoryWithId(1);
+      when(lightDirectoryMock.getParent()).thenReturn(rootMock);
+      when(testFileMock.getParent()).thenReturn(lightDirectoryMock);
+
+      assertThat(CitrusTestFileIndex.indexAncestors(testFileMock))
+        .containsOnlyKeys(1);
+    }
+  }
+
+  private static VirtualFile directoryWithId(int id) {
+    VirtualFile directoryMock = mock(
+      VirtualFile.class,
+      withSettings().extraInterfaces(VirtualFileWithId.class)
+    );
+    when(((VirtualFileWithId) directoryMock).getId()).thenReturn(id);
+    return directoryMock;
+  }
+}
@@ -0,0 +1,77 @@
+package ch.postfinance.citrusframework.plugin.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.postfinance.citrusframework.plugin.index.SelectionVerdictCache.Fingerprint;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SelectionVerdictCacheTest {
+
+  private final SelectionVerdictCache cache = new SelectionVerdictCache();
+  private final AtomicInteger lookups = new AtomicInteger();
+
+  @Mock
+  private VirtualFile folderMock;
+
+  @Mock
+  private VirtualFile otherFolderMock;
+
+  @Test
+  void computes_verdict_oncePerSelection() {
+    assertThat(cache.get(fingerprint(folderMock, 1, false), this::lookUp))
+      .isTrue();
+    assertThat(cache.get(fingerprint(folderMock, 1, false), this::lookUp))
+      .isTrue();
+
+    assertThat(lookups).hasValue(1);
+  }
+
+  @Test
+  void recomputes_verdict_ofOtherSelection() {
+    cache.get(fingerprint(folderMock, 1, false), this::lookUp);
+    cache.get(fingerprint(otherFolderMock, 1, false), this::lookUp);
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  @Test
+  void recomputes_verdict_afterVfsChange() {
+    cache.get(fingerprint(folderMock, 1, false), this::lookUp);
+    cache.get(fingerprint(folderMock, 2, false), this::lookUp);
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  @Test
+  void recomputes_verdict_afterIndexing() {
+    cache.get(fingerprint(folderMock, 1, true), this::lookUp);
+    cache.get(fingerprint(folderMock, 1, false), this::lookUp);
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  private boolean lookUp() {
+    lookups.incrementAndGet();
+    return true;
+  }
+
+  private static Fingerprint fingerprint(
+    VirtualFile selectedFile,
+    long vfsModificationCount,
+    boolean dumb
+  ) {
+    return new Fingerprint(
+      "project",
+      List.of(selectedFile),
+      vfsModificationCount,
+      dumb
+    );
+  }
+}
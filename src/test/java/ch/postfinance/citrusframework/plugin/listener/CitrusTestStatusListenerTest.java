@@ -0,0 +1,65 @@
+package ch.postfinance.citrusframework.plugin.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CitrusTestStatusListenerTest {
+
+  @Nested
+  class GetTestName {
+
+    @Mock
+    private SMTestProxy testMock;
+
+    @Test
+    void returns_fileName_ofFileLocation() {
+      when(testMock.getLocationUrl()).thenReturn(
+        "file:///project/src/test/resources/cards/MyTest.xml"
+      );
+
+      assertThat(CitrusTestStatusListener.getTestName(testMock)).isEqualTo(
+        "MyTest"
+      );
+    }
+
+    @Test
+    void returns_fileName_ofFileLocationWithLine() {
+      when(testMock.getLocationUrl()).thenReturn(
+        "file:///project/src/test/resources/cards/MyTest.xml:12"
+      );
+
+      assertThat(CitrusTestStatusListener.getTestName(testMock)).isEqualTo(
+        "MyTest"
+      );
+    }
+
+    @Test
+    void returns_testName_ofMethodLocation() {
+      when(testMock.getLocationUrl()).thenReturn(
+        "java:test://com.example.CitrusIT/MyTest"
+      );
+      when(testMock.getName()).thenReturn("MyTest");
+
+      assertThat(CitrusTestStatusListener.getTestName(testMock)).isEqualTo(
+        "MyTest"
+      );
+    }
+
+    @Test
+    void returns_testName_withoutLocation() {
+      when(testMock.getName()).thenReturn("MyTest");
+
+      assertThat(CitrusTestStatusListener.getTestName(testMock)).isEqualTo(
+        "MyTest"
+      );
+    }
+  }
+}
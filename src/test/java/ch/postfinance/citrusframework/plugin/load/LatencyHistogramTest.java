@@ -0,0 +1,57 @@
+package ch.postfinance.citrusframework.plugin.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  void getValueAtPercentile_isExact_belowExactValues() {
+    for (long value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+
+    assertThat(histogram.getTotalCount()).isEqualTo(100);
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+    assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  void getValueAtPercentile_isWithinBucketPrecision_forLargeValues() {
+    for (int i = 0; i < 99; i++) {
+      histogram.record(200);
+    }
+    histogram.record(123_456);
+
+    assertThat(histogram.getValueAtPercentile(50)).isCloseTo(
+      200,
+      within(200 / 64L)
+    );
+    assertThat(histogram.getValueAtPercentile(99.9)).isEqualTo(123_456);
+    assertThat(histogram.getMaxValue()).isEqualTo(123_456);
+  }
+
+  @Test
+  void getValueAtPercentile_returnsZero_ifEmpty() {
+    assertThat(histogram.getValueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  void buckets_coverEveryValue_inOrder() {
+    long[] values = { 0, 127, 128, 255, 256, 1_000_000, Long.MAX_VALUE };
+    int previousIndex = -1;
+    for (long value : values) {
+      int index = LatencyHistogram.indexOf(value);
+      assertThat(index).isGreaterThan(previousIndex);
+      assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(
+        value
+      );
+      previousIndex = index;
+    }
+  }
+}
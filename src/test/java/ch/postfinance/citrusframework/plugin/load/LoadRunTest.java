@@ -0,0 +1,70 @@
+package ch.postfinance.citrusframework.plugin.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LoadRunTest {
+
+  @Nested
+  class RowName {
+
+    @Test
+    void names_testAfterItsParent() {
+      assertThat(LoadRun.rowName(List.of("CitrusIT", "GS_Test"))).isEqualTo(
+        "CitrusIT > GS_Test"
+      );
+      assertThat(LoadRun.rowName(List.of("GS_Test"))).isEqualTo("GS_Test");
+    }
+
+    @Test
+    void sums_iterations_inTheirTest() {
+      assertThat(
+        LoadRun.rowName(List.of("CitrusIT", "GS_Test", "repetition 3 of 10"))
+      ).isEqualTo("CitrusIT > GS_Test");
+      assertThat(
+        LoadRun.rowName(List.of("CitrusIT", "GS_Test", "[2] card"))
+      ).isEqualTo("CitrusIT > GS_Test");
+    }
+
+    @Test
+    void names_actionAfterItsTest() {
+      assertThat(
+        LoadRun.rowName(List.of("CitrusIT", "GS_Test", "send"))
+      ).isEqualTo("GS_Test > send");
+    }
+  }
+
+  @Test
+  void format_reports_throughputAndPercentiles_slowestFirst() {
+    LoadRun loadRun = new LoadRun(new LoadProfile(100, 0, 4));
+    loadRun.testStarted(1_000);
+    for (int i = 1; i <= 100; i++) {
+      loadRun.testFinished("Fast_Test", i, true, 2_000);
+      loadRun.testFinished("Slow_Test", 100 + i, i != 1, 3_000);
+    }
+
+    assertThat(loadRun.format())
+      .startsWith("Load test: 100 iterations at concurrency 4\n")
+      .contains("Executions: 200, failed: 1, wall time 2.0 s, throughput 100.0/s")
+      // Latencies above 127 ms are reported as the highest value of their bucket
+      .contains(
+        "       100       1     50.0     151     191     199     200     200  Slow_Test"
+      )
+      .contains(
+        "       100       0     50.0      50      90      99     100     100  Fast_Test"
+      )
+      .containsSubsequence("Slow_Test", "Fast_Test");
+  }
+
+  @Test
+  void format_explains_noExecutions() {
+    LoadRun loadRun = new LoadRun(new LoadProfile(0, 60, 2));
+
+    assertThat(loadRun.format())
+      .startsWith("Load test: 60 s at concurrency 2\n")
+      .contains("No test was executed");
+  }
+}
@@ -0,0 +1,94 @@
+package ch.postfinance.citrusframework.plugin.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.intellij.execution.JavaTestConfigurationBase;
+import com.intellij.execution.RunManager;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.execution.configurations.RunConfiguration;
+import com.intellij.openapi.project.Project;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RunConfigurationModelTest {
+
+  @Mock
+  private Project projectMock;
+
+  @Mock
+  private RunManager runManagerMock;
+
+  private RunnerAndConfigurationSettings junitSettings;
+  private RunConfigurationModel model;
+
+  @BeforeEach
+  void setUp() {
+    when(projectMock.getService(RunManager.class)).thenReturn(runManagerMock);
+    junitSettings = settings(
+      "JUnit.AllTests",
+      "AllTests",
+      mock(JavaTestConfigurationBase.class)
+    );
+    RunnerAndConfigurationSettings mavenSettings = mock(
+      RunnerAndConfigurationSettings.class
+    );
+    when(mavenSettings.getConfiguration()).thenReturn(
+      mock(RunConfiguration.class)
+    );
+    when(runManagerMock.getAllSettings()).thenReturn(
+      List.of(mavenSettings, junitSettings)
+    );
+    model = new RunConfigurationModel(projectMock);
+  }
+
+  @Test
+  void lists_onlyTestConfigurations() {
+    assertThat(model.getRunConfigs())
+      .singleElement()
+      .satisfies(runConfig -> {
+        assertThat(runConfig.getUniqueId()).isEqualTo("JUnit.AllTests");
+        assertThat(runConfig.getName()).isEqualTo("AllTests");
+        assertThat(runConfig.getType()).isEqualTo("JUnit");
+      });
+  }
+
+  @Test
+  void finds_settings_byUniqueId() {
+    assertThat(model.findByUniqueId("JUnit.AllTests")).isSameAs(junitSettings);
+    assertThat(model.findByUniqueId("Maven.install")).isNull();
+  }
+
+  @Test
+  void reads_runManager_onlyOnceUntilInvalidated() {
+    model.getRunConfigs();
+    model.findByUniqueId("JUnit.AllTests");
+    verify(runManagerMock, times(1)).getAllSettings();
+
+    model.invalidate();
+    model.getRunConfigs();
+    verify(runManagerMock, times(2)).getAllSettings();
+  }
+
+  private static RunnerAndConfigurationSettings settings(
+    String uniqueId,
+    String name,
+    RunConfiguration configuration
+  ) {
+    RunnerAndConfigurationSettings settingsMock = mock(
+      RunnerAndConfigurationSettings.class
+    );
+    when(settingsMock.getConfiguration()).thenReturn(configuration);
+    when(settingsMock.getUniqueID()).thenReturn(uniqueId);
+    when(settingsMock.getName()).thenReturn(name);
+    return settingsMock;
+  }
+}
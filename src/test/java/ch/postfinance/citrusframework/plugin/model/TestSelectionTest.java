@@ -0,0 +1,79 @@
+package ch.postfinance.citrusframework.plugin.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TestSelectionTest {
+
+  @Mock
+  private VirtualFile alphaTestMock;
+
+  @Mock
+  private VirtualFile betaTestMock;
+
+  @Mock
+  private VirtualFile gammaTestMock;
+
+  @Test
+  void filter_keeps_matchingTestsInOrder() {
+    TestSelection testSelection = new TestSelection(
+      List.of(alphaTestMock, betaTestMock, gammaTestMock),
+      List.of("com/example")
+    );
+
+    TestSelection filtered = testSelection.filter(
+      testFile -> testFile != betaTestMock
+    );
+
+    assertThat(filtered.getTestFiles()).containsExactly(
+      alphaTestMock,
+      gammaTestMock
+    );
+    assertThat(filtered.getDirectories()).isEmpty();
+  }
+
+  @Test
+  void filter_keeps_exactSelection() {
+    TestSelection testSelection = new TestSelection(
+      List.of(alphaTestMock, betaTestMock),
+      List.of()
+    ).exact();
+
+    assertThat(
+      testSelection.filter(testFile -> testFile == alphaTestMock).isExact()
+    ).isTrue();
+  }
+
+  @Test
+  void withTestFiles_keeps_exactSelection() {
+    TestSelection testSelection = new TestSelection(
+      List.of(alphaTestMock, betaTestMock, gammaTestMock),
+      List.of("com/example")
+    ).exact();
+
+    TestSelection shard = testSelection.withTestFiles(List.of(betaTestMock));
+
+    assertThat(shard.getTestFiles()).containsExactly(betaTestMock);
+    assertThat(shard.getDirectories()).isEmpty();
+    assertThat(shard.isExact()).isTrue();
+  }
+
+  @Test
+  void withTestFiles_keeps_patternSelection() {
+    TestSelection testSelection = new TestSelection(
+      List.of(alphaTestMock, betaTestMock),
+      List.of()
+    );
+
+    assertThat(
+      testSelection.withTestFiles(List.of(alphaTestMock)).isExact()
+    ).isFalse();
+  }
+}
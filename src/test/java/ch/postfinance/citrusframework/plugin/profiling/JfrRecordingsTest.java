@@ -0,0 +1,52 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrRecordingsTest {
+
+  @Test
+  void vmParameter_writes_profilingRecordingOnExit() {
+    Path recording = Path.of("/tmp/MyConfig.jfr");
+
+    assertThat(JfrRecordings.vmParameter(recording)).isEqualTo(
+      "-XX:StartFlightRecording=settings=profile,dumponexit=true,filename=" +
+        recording.toAbsolutePath()
+    );
+  }
+
+  @Test
+  void vmParameter_isQuoted_ifPathContainsSpace() {
+    assertThat(
+      JfrRecordings.vmParameter(Path.of("/tmp/My Config.jfr"))
+    ).startsWith("\"-XX:StartFlightRecording=").endsWith("\"");
+  }
+
+  @Test
+  void deleteOldRecordings_keeps_mostRecentRecordings(@TempDir Path directory)
+    throws IOException {
+    for (int i = 0; i < JfrRecordings.MAX_RECORDINGS + 2; i++) {
+      Path recording = Files.createFile(directory.resolve("run" + i + ".jfr"));
+      Files.setLastModifiedTime(recording, FileTime.fromMillis(i * 1_000L));
+    }
+    Path otherFile = Files.createFile(directory.resolve("notes.txt"));
+
+    JfrRecordings.deleteOldRecordings(directory);
+
+    // One slot is kept free for the new recording
+    assertThat(directory.resolve("run2.jfr")).doesNotExist();
+    assertThat(directory.resolve("run3.jfr")).exists();
+    assertThat(otherFile).exists();
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.filter(file -> file.toString().endsWith(".jfr")))
+        .hasSize(JfrRecordings.MAX_RECORDINGS - 1);
+    }
+  }
+}
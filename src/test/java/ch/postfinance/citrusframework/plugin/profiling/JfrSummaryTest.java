@@ -0,0 +1,73 @@
+package ch.postfinance.citrusframework.plugin.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class JfrSummaryTest {
+
+  private static final long MB = 1024 * 1024;
+
+  private final JfrSummary summary = new JfrSummary();
+
+  @Test
+  void format_ranks_hotMethodsAndAllocations() {
+    summary.executionSample("com.example.Parser.parse", 1_000);
+    summary.executionSample("com.example.Parser.parse", 1_010);
+    summary.executionSample("com.example.Sender.send", 1_020);
+    summary.executionSample(null, 1_030);
+    summary.allocation("byte[]", 3 * MB);
+    summary.allocation("java.lang.String", MB);
+
+    assertThat(summary.format(List.of()))
+      .contains("Hot methods (4 execution samples)")
+      .contains(" 66.7%  com.example.Parser.parse")
+      .contains(" 33.3%  com.example.Sender.send")
+      .contains("Allocation pressure (4 MB sampled)")
+      .contains(" 75.0%  byte[]")
+      .doesNotContain("Tests, slowest first");
+  }
+
+  @Test
+  void format_sums_gcPausesAndLockWaits() {
+    summary.gcPause(1_000, TimeUnit.MILLISECONDS.toNanos(30));
+    summary.gcPause(2_000, TimeUnit.MILLISECONDS.toNanos(10));
+    summary.lockWait(
+      "java.lang.Object",
+      1_500,
+      TimeUnit.MILLISECONDS.toNanos(7)
+    );
+
+    assertThat(summary.format(List.of()))
+      .contains("GC pauses: 2, total 40 ms, max 30 ms")
+      .contains("Lock contention: 1 waits, total 7 ms")
+      .contains("      7 ms  java.lang.Object");
+  }
+
+  @Test
+  void format_attributes_eventsToTests_slowestFirst() {
+    summary.executionSample("com.example.Parser.parse", 1_100);
+    summary.executionSample("com.example.Parser.parse", 2_100);
+    summary.executionSample("com.example.Parser.parse", 2_200);
+    summary.gcPause(2_300, TimeUnit.MILLISECONDS.toNanos(25));
+
+    String formatted = summary.format(
+      List.of(
+        new TestInterval("Fast_Test", 1_000, 1_500),
+        new TestInterval("Slow_Test", 2_000, 3_000)
+      )
+    );
+
+    assertThat(formatted).contains(
+      "     1000 ms  samples     2  GC    25 ms  locks     0 ms  Slow_Test"
+    );
+    assertThat(formatted.indexOf("Slow_Test")).isLessThan(
+      formatted.indexOf("Fast_Test")
+    );
+    assertThat(formatted).contains(
+      "      500 ms  samples     1  GC     0 ms  locks     0 ms  Fast_Test"
+    );
+  }
+}
@@ -0,0 +1,187 @@
+package ch.postfinance.citrusframework.plugin.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestResultStoreTest {
+
+  @TempDir
+  private Path tempDir;
+
+  @Nested
+  class Log {
+
+    @Test
+    void reads_appendedResults() throws IOException {
+      TestResultLog log = new TestResultLog(tempDir.resolve("results.log"));
+
+      log.append(List.of(new TestResult(1, "AlphaTest", true, 120)));
+      log.append(List.of(new TestResult(2, "BetaTest", false, 80)));
+
+      assertThat(log.read()).containsExactly(
+        new TestResult(1, "AlphaTest", true, 120),
+        new TestResult(2, "BetaTest", false, 80)
+      );
+    }
+
+    @Test
+    void ignores_truncatedLastRecord() throws IOException {
+      Path file = tempDir.resolve("results.log");
+      TestResultLog log = new TestResultLog(file);
+      log.append(
+        List.of(
+          new TestResult(1, "AlphaTest", true, 120),
+          new TestResult(2, "BetaTest", true, 80)
+        )
+      );
+      byte[] content = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+      assertThat(log.read()).containsExactly(
+        new TestResult(1, "AlphaTest", true, 120)
+      );
+    }
+
+    @Test
+    void appends_afterLastCompleteRecord_ofTruncatedLog() throws IOException {
+      Path file = tempDir.resolve("results.log");
+      TestResultLog log = new TestResultLog(file);
+      log.append(
+        List.of(
+          new TestResult(1, "AlphaTest", true, 120),
+          new TestResult(2, "BetaTest", true, 80)
+        )
+      );
+      byte[] content = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+      log.read();
+      log.append(List.of(new TestResult(3, "GammaTest", false, 50)));
+
+      assertThat(log.read()).containsExactly(
+        new TestResult(1, "AlphaTest", true, 120),
+        new TestResult(3, "GammaTest", false, 50)
+      );
+    }
+  }
+
+  @Nested
+  class Store {
+
+    @Test
+    void keeps_lastResultsPerTest_acrossReloads() {
+      Path file = tempDir.resolve("results.log");
+      TestResultStore store = new TestResultStore(new TestResultLog(file));
+      List<TestResult> results = new ArrayList<>();
+      for (int run = 0; run < TestResultStore.RESULTS_PER_TEST + 5; run++) {
+        results.add(new TestResult(run, "AlphaTest", true, 100));
+      }
+      store.append(results);
+
+      assertThat(
+        new TestResultStore(new TestResultLog(file)).getStatistics()
+      )
+        .singleElement()
+        .extracting(TestStatistics::runs)
+        .isEqualTo(TestResultStore.RESULTS_PER_TEST);
+    }
+
+    @Test
+    void sorts_statistics_slowestFirst() {
+      TestResultStore store = new TestResultStore(
+        new TestResultLog(tempDir.resolve("results.log"))
+      );
+
+      store.append(
+        List.of(
+          new TestResult(1, "FastTest", true, 10),
+          new TestResult(1, "SlowTest", true, 900)
+        )
+      );
+
+      assertThat(store.getStatistics())
+        .extracting(TestStatistics::name)
+        .containsExactly("SlowTest", "FastTest");
+    }
+  }
+
+  @Nested
+  class FailedTests {
+
+    @Test
+    void returns_testsFailedInLastRun() {
+      TestResultStore store = new TestResultStore(
+        new TestResultLog(tempDir.resolve("results.log"))
+      );
+
+      store.append(
+        List.of(
+          new TestResult(1, "FixedTest", false, 10),
+          new TestResult(1, "BrokenTest", true, 10)
+        )
+      );
+      store.append(
+        List.of(
+          new TestResult(2, "FixedTest", true, 10),
+          new TestResult(2, "BrokenTest", false, 10)
+        )
+      );
+
+      assertThat(store.getFailedTests()).containsExactly("BrokenTest");
+    }
+  }
+
+  @Nested
+  class Regression {
+
+    @Test
+    void detects_newlyFailingTest() {
+      assertThat(
+        TestStatistics.of(
+          "AlphaTest",
+          List.of(
+            new TestResult(1, "AlphaTest", true, 100),
+            new TestResult(2, "AlphaTest", false, 100)
+          )
+        ).regression()
+      ).isEqualTo("Newly failing");
+    }
+
+    @Test
+    void detects_slowdown() {
+      TestStatistics statistics = TestStatistics.of(
+        "AlphaTest",
+        List.of(
+          new TestResult(1, "AlphaTest", true, 200),
+          new TestResult(2, "AlphaTest", true, 200),
+          new TestResult(3, "AlphaTest", true, 500)
+        )
+      );
+
+      assertThat(statistics.regression()).matches("Slower x2[.,]5");
+      assertThat(statistics.averageDurationMillis()).isEqualTo(300);
+    }
+
+    @Test
+    void ignores_smallAbsoluteSlowdown() {
+      assertThat(
+        TestStatistics.of(
+          "AlphaTest",
+          List.of(
+            new TestResult(1, "AlphaTest", true, 20),
+            new TestResult(2, "AlphaTest", true, 60)
+          )
+        ).regression()
+      ).isNull();
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package ch.postfinance.citrusframework.plugin.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TelemetryTimelineTest {
+
+  private static final long MB = 1024 * 1024;
+
+  private final TelemetryTimeline timeline = new TelemetryTimeline("Run");
+
+  @Test
+  void perTest_attributes_changesToTheLaterSample_highestHeapGrowthFirst() {
+    timeline.add(sample(0, 100, 50, 10, null));
+    timeline.add(sample(1_000, 120, 50, 10, "Stable_Test"));
+    timeline.add(sample(2_000, 180, 80, 40, "Leaking_Test"));
+    timeline.add(sample(3_000, 200, 110, 45, "Leaking_Test"));
+    timeline.add(sample(4_000, 90, 50, 60, "Stable_Test"));
+
+    assertThat(timeline.perTest()).containsExactly(
+      new TestTelemetry("Leaking_Test", 2, 60 * MB, 35, 200 * MB, 20, 50),
+      new TestTelemetry("Stable_Test", 2, -60 * MB, 15, 120 * MB, 20, 50)
+    );
+  }
+
+  @Test
+  void perTest_skips_cpuLoadUnavailable() {
+    timeline.add(new TelemetrySample(0, MB, MB, 0, 10, -1, "Single_Test"));
+
+    assertThat(timeline.perTest())
+      .singleElement()
+      .satisfies(telemetry -> {
+        assertThat(telemetry.heapGrowthBytes()).isZero();
+        assertThat(telemetry.averageCpuPercent()).isNegative();
+      });
+  }
+
+  @Test
+  void add_drops_oldestSamples_beyondLimit() {
+    for (int i = 0; i <= TelemetryTimeline.MAX_SAMPLES; i++) {
+      timeline.add(sample(i, 1, 1, 0, "Long_Test"));
+    }
+
+    assertThat(timeline.perTest())
+      .singleElement()
+      .extracting(TestTelemetry::samples)
+      .isEqualTo(TelemetryTimeline.MAX_SAMPLES);
+    assertThat(timeline.getLatest().timestampMillis()).isEqualTo(
+      TelemetryTimeline.MAX_SAMPLES
+    );
+  }
+
+  private static TelemetrySample sample(
+    long timestampMillis,
+    long heapUsedMb,
+    long heapAfterGcMb,
+    long gcTimeMillis,
+    String test
+  ) {
+    return new TelemetrySample(
+      timestampMillis,
+      heapUsedMb * MB,
+      heapAfterGcMb * MB,
+      gcTimeMillis,
+      20,
+      0.5,
+      test
+    );
+  }
+}
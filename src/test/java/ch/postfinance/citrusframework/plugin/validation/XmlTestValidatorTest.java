@@ -0,0 +1,100 @@
+package ch.postfinance.citrusframework.plugin.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator.FileCheck;
+import ch.postfinance.citrusframework.plugin.validation.XmlTestValidator.Problem;
+import com.intellij.openapi.vfs.VirtualFile;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class XmlTestValidatorTest {
+
+  private static final String VALID_TEST = """
+    <test name="Card_Test" xmlns="http://citrusframework.org/schema/xml/testcase">
+      <actions>
+        <send endpoint="cardEndpoint">
+          <message>
+            <resource file="classpath:payloads/card.json"/>
+          </message>
+        </send>
+      </actions>
+    </test>
+    """;
+
+  @Mock
+  private VirtualFile testFileMock;
+
+  @Nested
+  class Check {
+
+    @Test
+    void returns_referencedFiles_withTheirLine() {
+      FileCheck fileCheck = XmlTestValidator.check(testFileMock, 1, VALID_TEST);
+
+      assertThat(fileCheck.syntaxError()).isNull();
+      assertThat(fileCheck.referencedFiles()).containsExactly(
+        entry("card.json", 5)
+      );
+    }
+
+    @Test
+    void returns_syntaxError_withItsLocation() {
+      FileCheck fileCheck = XmlTestValidator.check(
+        testFileMock,
+        1,
+        VALID_TEST.replace("</send>", "</sned>")
+      );
+
+      assertThat(fileCheck.syntaxError())
+        .isNotNull()
+        .satisfies(syntaxError -> {
+          assertThat(syntaxError.file()).isSameAs(testFileMock);
+          assertThat(syntaxError.line()).isEqualTo(7);
+          assertThat(syntaxError.message()).doesNotContain("ParseError");
+        });
+    }
+  }
+
+  @Nested
+  class Problems {
+
+    @Test
+    void returns_nothing_forValidTest() {
+      FileCheck fileCheck = XmlTestValidator.check(testFileMock, 1, VALID_TEST);
+
+      assertThat(
+        XmlTestValidator.problems(testFileMock, fileCheck, Set.of("other.json"))
+      ).isEmpty();
+    }
+
+    @Test
+    void returns_missingReferencedFiles() {
+      when(testFileMock.getName()).thenReturn("Card_Test.xml");
+      FileCheck fileCheck = XmlTestValidator.check(testFileMock, 1, VALID_TEST);
+
+      List<Problem> problems = XmlTestValidator.problems(
+        testFileMock,
+        fileCheck,
+        Set.of("card.json")
+      );
+
+      assertThat(problems)
+        .singleElement()
+        .satisfies(problem -> {
+          assertThat(problem.getLocation()).isEqualTo("Card_Test.xml:5");
+          assertThat(problem.message()).isEqualTo(
+            "Referenced file not found: card.json"
+          );
+        });
+    }
+  }
+}